@@ -0,0 +1,213 @@
+package com.Huseyin.boardGame.chat;
+
+import com.Huseyin.boardGame.model.ChatMessage;
+import com.Huseyin.boardGame.model.Game;
+import com.Huseyin.boardGame.repository.ChatMessageRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for the chat of FINISHED games: one gzip segment file per game
+ * ("game-{id}.chat.gz" in {@code chat.archive.dir}), so chat_message only holds live rooms.
+ *
+ * Every {@link #ARCHIVE_MS} games finished more than {@link #GRACE_MS} ago are written out
+ * (temp file, fsync, atomic rename) and only then their rows are deleted. A crash in
+ * between just archives the game again on the next run.
+ * Reads of archived games go to the segment (a few recent ones stay decoded in memory).
+ */
+@Component
+public class ChatArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatArchive.class);
+
+    private static final long ARCHIVE_MS = 60_000;
+    private static final long GRACE_MS = 10 * 60_000;
+    private static final int GAMES_PER_RUN = 20;
+    private static final int CACHED_SEGMENTS = 32;
+    private static final int FORMAT = 1;
+
+    private final ChatMessageRepository chatRepo;
+    private final Path dir;
+
+    private final Set<Long> archived = ConcurrentHashMap.newKeySet();
+    private final Map<Long, List<Map<String, Object>>> cache =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, List<Map<String, Object>>> eldest) {
+                    return size() > CACHED_SEGMENTS;
+                }
+            });
+
+    private final ScheduledExecutorService archiver = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "chat-archiver");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ChatArchive(ChatMessageRepository chatRepo,
+                       @Value("${chat.archive.dir:chat-archive}") String dir) {
+        this.chatRepo = chatRepo;
+        this.dir = Path.of(dir);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        Files.createDirectories(dir);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "game-*.chat.gz")) {
+            for (Path f : files) {
+                String name = f.getFileName().toString();
+                archived.add(Long.parseLong(name.substring(5, name.length() - ".chat.gz".length())));
+            }
+        }
+        archiver.scheduleWithFixedDelay(this::archiveFinished, ARCHIVE_MS, ARCHIVE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        archiver.shutdownNow();
+    }
+
+    public boolean contains(Long gameId) {
+        return archived.contains(gameId);
+    }
+
+    /** Whole archived chat of a game, oldest -> newest (empty if not archived). */
+    public List<Map<String, Object>> read(Long gameId) {
+        if (!archived.contains(gameId)) return Collections.emptyList();
+
+        List<Map<String, Object>> msgs = cache.get(gameId);
+        if (msgs != null) return msgs;
+
+        try {
+            msgs = Collections.unmodifiableList(readSegment(segment(gameId)));
+        } catch (NoSuchFileException gone) {
+            archived.remove(gameId);
+            return Collections.emptyList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Chat archive of game " + gameId + " unreadable", e);
+        }
+        cache.put(gameId, msgs);
+        return msgs;
+    }
+
+    /** Room deleted: drop its segment too. */
+    public void delete(Long gameId) {
+        cache.remove(gameId);
+        if (archived.remove(gameId)) {
+            try {
+                Files.deleteIfExists(segment(gameId));
+            } catch (IOException e) {
+                log.warn("Could not delete chat archive of game {}", gameId, e);
+            }
+        }
+    }
+
+    public void deleteAll() {
+        for (Long gameId : List.copyOf(archived)) delete(gameId);
+    }
+
+    // =========================
+    // Archiver (chat-archiver thread)
+    // =========================
+
+    void archiveFinished() {
+        try {
+            long cutoff = System.currentTimeMillis() - GRACE_MS;
+            List<Long> gameIds = chatRepo.findGameIdsFinishedBefore(
+                    Game.Status.FINISHED, cutoff, PageRequest.of(0, GAMES_PER_RUN));
+            for (Long gameId : gameIds) archive(gameId);
+        } catch (RuntimeException e) {
+            log.error("Chat archiving failed", e);
+        }
+    }
+
+    void archive(Long gameId) {
+        List<Map<String, Object>> msgs = new ArrayList<>(readSegmentIfPresent(gameId));
+        long lastArchived = msgs.isEmpty() ? 0 : ((Number) msgs.get(msgs.size() - 1).get("id")).longValue();
+        for (ChatMessage m : chatRepo.findAllWithUser(gameId)) {
+            if (m.getId() > lastArchived) msgs.add(ChatHistory.toDto(m));
+        }
+
+        try {
+            writeSegment(gameId, msgs);
+        } catch (IOException e) {
+            log.error("Could not archive chat of game {}", gameId, e);
+            return;
+        }
+        archived.add(gameId);
+        cache.remove(gameId);
+
+        int deleted = chatRepo.deleteByGameId(gameId);
+        log.info("Archived chat of game {}: {} messages ({} rows removed)", gameId, msgs.size(), deleted);
+    }
+
+    private List<Map<String, Object>> readSegmentIfPresent(Long gameId) {
+        try {
+            return archived.contains(gameId) ? readSegment(segment(gameId)) : Collections.emptyList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // =========================
+    // Segment format: gzip( int FORMAT, int count, count x (id, userId, username, createdAt, text) )
+    // =========================
+
+    private Path segment(Long gameId) {
+        return dir.resolve("game-" + gameId + ".chat.gz");
+    }
+
+    private void writeSegment(Long gameId, List<Map<String, Object>> msgs) throws IOException {
+        Path tmp = dir.resolve("game-" + gameId + ".chat.gz.tmp");
+        try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(file)))) {
+            out.writeInt(FORMAT);
+            out.writeInt(msgs.size());
+            for (Map<String, Object> m : msgs) {
+                out.writeLong(((Number) m.get("id")).longValue());
+                out.writeLong(((Number) m.get("userId")).longValue());
+                out.writeUTF(Objects.toString(m.get("username"), ""));
+                out.writeLong(((Number) m.get("createdAt")).longValue());
+                out.writeUTF(Objects.toString(m.get("text"), ""));
+            }
+        }
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ch.force(true); // on disk before the rows go away
+        }
+        Files.move(tmp, segment(gameId), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<Map<String, Object>> readSegment(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))))) {
+            int format = in.readInt();
+            if (format != FORMAT) throw new IOException("Unknown chat segment format " + format + " in " + file);
+            int n = in.readInt();
+            List<Map<String, Object>> msgs = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                long id = in.readLong();
+                long userId = in.readLong();
+                String username = in.readUTF();
+                long createdAt = in.readLong();
+                String text = in.readUTF();
+                msgs.add(ChatHistory.toDto(id, userId, username, text, createdAt));
+            }
+            return msgs;
+        }
+    }
+}
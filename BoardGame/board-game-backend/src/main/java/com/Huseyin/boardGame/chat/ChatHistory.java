@@ -0,0 +1,146 @@
+package com.Huseyin.boardGame.chat;
+
+import com.Huseyin.boardGame.model.ChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chat reads shared by GET /chat and GET /sync: the latest {@link #CHAT_LIMIT}
+ * messages, or the ones after a given id, as chat DTO maps (oldest -> newest).
+ *
+ * Served from a per-game {@link ChatRing} of the latest {@link #CHAT_LIMIT} messages.
+ * The {@link ChatStore} is only read to seed a game's ring (cold start) and for an
+ * afterId older than the ring's tail. Metrics: chat.reads{result=hit|miss}.
+ *
+ * Scroll-back ({@link #readBefore}) is keyset paged (idx_chat_game_id_id for the JPA store).
+ * Games whose chat was moved out of the table are read from the {@link ChatArchive}.
+ */
+@Component
+public class ChatHistory {
+
+    public static final int CHAT_LIMIT = 50;
+    public static final int MAX_PAGE = 200;
+
+    private final ChatStore store;
+    private final ChatArchive archive;
+    private final Map<Long, ChatRing> rings = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ChatHistory(ChatStore store, ChatArchive archive, MeterRegistry meters) {
+        this.store = store;
+        this.archive = archive;
+        this.hits = Counter.builder("chat.reads").tag("result", "hit")
+                .description("Chat reads answered from the in-memory ring").register(meters);
+        this.misses = Counter.builder("chat.reads").tag("result", "miss")
+                .description("Chat reads that went to the DB").register(meters);
+    }
+
+    /** Immutable chat DTO (shared by every reader of the ring). */
+    public static Map<String, Object> toDto(ChatMessage m) {
+        return toDto(m.getId(), m.getUser().getId(), m.getUser().getUsername(), m.getText(), m.getCreatedAt());
+    }
+
+    public static Map<String, Object> toDto(Long id, Long userId, String username, String text, Long createdAt) {
+        Map<String, Object> dto = new HashMap<>();
+        dto.put("id", id);
+        dto.put("userId", userId);
+        dto.put("username", username);
+        dto.put("text", text);
+        dto.put("createdAt", createdAt);
+        return Collections.unmodifiableMap(dto);
+    }
+
+    /** afterId == null => latest batch; otherwise messages with id > afterId */
+    public List<Map<String, Object>> read(Long gameId, Long afterId) {
+        if (archive.contains(gameId)) {
+            rings.remove(gameId);
+            List<Map<String, Object>> all = archive.read(gameId);
+            if (afterId == null) return all.subList(Math.max(0, all.size() - CHAT_LIMIT), all.size());
+            int from = firstAbove(all, afterId);
+            return all.subList(from, Math.min(all.size(), from + CHAT_LIMIT));
+        }
+
+        List<Map<String, Object>> cached = ring(gameId).after(afterId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        return store.after(gameId, afterId, CHAT_LIMIT);
+    }
+
+    /** Scroll-back: the newest {@code limit} messages with id < beforeId (oldest -> newest). */
+    public List<Map<String, Object>> readBefore(Long gameId, long beforeId, int limit) {
+        int n = Math.max(1, Math.min(limit, MAX_PAGE));
+
+        if (archive.contains(gameId)) {
+            List<Map<String, Object>> all = archive.read(gameId);
+            int end = firstAbove(all, beforeId - 1); // ids < beforeId are [0, end)
+            return all.subList(Math.max(0, end - n), end);
+        }
+
+        List<Map<String, Object>> cached = ring(gameId).before(beforeId, n);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        return store.before(gameId, beforeId, n);
+    }
+
+    /** Store a message and add it to the game's ring; returns its DTO. */
+    public Map<String, Object> append(Long gameId, Long userId, String username, String text) {
+        ChatRing ring = ring(gameId);
+        Map<String, Object> dto = store.append(gameId, userId, username, text);
+        ring.add(dto);
+        return dto;
+    }
+
+    /** Room being deleted, inside its transaction: its stored messages go first (chat_message FK). */
+    public void delete(Long gameId) {
+        store.deleteGame(gameId);
+    }
+
+    public void deleteAll() {
+        store.deleteAll();
+    }
+
+    /** Room deleted: drop its ring and archive segment. */
+    public void forget(Long gameId) {
+        rings.remove(gameId);
+        archive.delete(gameId);
+    }
+
+    public void forgetAll() {
+        rings.clear();
+        archive.deleteAll();
+    }
+
+    private ChatRing ring(Long gameId) {
+        ChatRing ring = rings.computeIfAbsent(gameId, id -> new ChatRing(CHAT_LIMIT));
+        if (!ring.isLoaded()) {
+            // cold start: seed with the latest batch (load() ignores a second seed)
+            List<Map<String, Object>> latest = store.latest(gameId, CHAT_LIMIT);
+            ring.load(latest, latest.size() < CHAT_LIMIT);
+        }
+        return ring;
+    }
+
+    /** index of the first message with id > afterId in an id-ordered list */
+    private static int firstAbove(List<Map<String, Object>> msgs, long afterId) {
+        int lo = 0, hi = msgs.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (((Number) msgs.get(mid).get("id")).longValue() <= afterId) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
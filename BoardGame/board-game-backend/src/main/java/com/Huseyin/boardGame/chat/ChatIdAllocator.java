@@ -0,0 +1,67 @@
+package com.Huseyin.boardGame.chat;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hi/lo id allocator for chat_message.
+ *
+ * Reserves {@link #BLOCK_SIZE} ids at a time from the "chat_id_sequence" row (one short
+ * transaction of its own), then hands them out from memory. So a message has its final
+ * id right away, before it is written, and the writer can batch inserts freely.
+ * Unused ids of a block are lost on restart (gaps are fine: ids only order messages).
+ */
+@Component
+@ConditionalOnProperty(name = "chat.store", havingValue = "jpa", matchIfMissing = true)
+public class ChatIdAllocator {
+
+    static final int BLOCK_SIZE = 100;
+    private static final String SEQUENCE = "chat";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate ownTx;
+
+    private long next;   // next id to hand out
+    private long limit;  // end of the current block (exclusive)
+
+    public ChatIdAllocator(JdbcTemplate jdbc, PlatformTransactionManager txManager) {
+        this.jdbc = jdbc;
+        this.ownTx = new TransactionTemplate(txManager);
+        this.ownTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public synchronized long nextId() {
+        if (next >= limit) {
+            long end = reserveBlock();
+            next = end - BLOCK_SIZE;
+            limit = end;
+        }
+        return next++;
+    }
+
+    /** Moves the sequence one block ahead; returns the new value (= end of our block). */
+    private long reserveBlock() {
+        Long end = ownTx.execute(status -> {
+            int updated = jdbc.update(
+                    "update chat_id_sequence set next_val = next_val + ? where name = ?", BLOCK_SIZE, SEQUENCE);
+            if (updated == 0) {
+                // first start: continue after the ids the table already has
+                try {
+                    jdbc.update("insert into chat_id_sequence (name, next_val) "
+                                    + "select ?, coalesce(max(id), 0) + 1 + ? from chat_message",
+                            SEQUENCE, BLOCK_SIZE);
+                } catch (DuplicateKeyException raced) {
+                    jdbc.update("update chat_id_sequence set next_val = next_val + ? where name = ?", BLOCK_SIZE, SEQUENCE);
+                }
+            }
+            return jdbc.queryForObject("select next_val from chat_id_sequence where name = ?", Long.class, SEQUENCE);
+        });
+        if (end == null) throw new IllegalStateException("chat_id_sequence not readable");
+        return end;
+    }
+}
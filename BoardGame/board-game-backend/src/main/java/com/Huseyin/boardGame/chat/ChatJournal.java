@@ -0,0 +1,83 @@
+package com.Huseyin.boardGame.chat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optional local journal for {@link ChatWriter}: every accepted message is appended
+ * here before it is acknowledged, and the file is truncated once everything in it
+ * reached the DB. After a crash the surviving records are replayed.
+ *
+ * Records go to the OS on every append (survives a process crash) but are not fsynced.
+ * Not thread-safe: the writer calls it under its own lock.
+ */
+final class ChatJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatJournal.class);
+
+    private final Path file;
+    private DataOutputStream out;
+    private boolean empty;
+
+    ChatJournal(Path file) throws IOException {
+        this.file = file;
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        this.empty = !Files.exists(file) || Files.size(file) == 0;
+        this.out = open(true);
+    }
+
+    private DataOutputStream open(boolean append) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file.toFile(), append)));
+    }
+
+    void append(ChatWriter.Row row) throws IOException {
+        out.writeLong(row.id());
+        out.writeLong(row.gameId());
+        out.writeLong(row.userId());
+        out.writeLong(row.createdAt());
+        out.writeUTF(row.text());
+        out.flush();
+        empty = false;
+    }
+
+    /** Everything journaled so far is in the DB. */
+    void truncate() throws IOException {
+        if (empty) return;
+        out.close();
+        out = open(false);
+        empty = true;
+    }
+
+    /** Records left by the previous run (a torn last record is skipped). */
+    List<ChatWriter.Row> readAll() throws IOException {
+        List<ChatWriter.Row> rows = new ArrayList<>();
+        if (!Files.exists(file)) return rows;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                long id = in.readLong();
+                long gameId = in.readLong();
+                long userId = in.readLong();
+                long createdAt = in.readLong();
+                String text = in.readUTF();
+                rows.add(new ChatWriter.Row(id, gameId, userId, text, createdAt));
+            }
+        } catch (EOFException end) {
+            // end of journal (or torn tail)
+        } catch (UTFDataFormatException torn) {
+            log.warn("Chat journal {} has a damaged record, replaying {} before it", file, rows.size());
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
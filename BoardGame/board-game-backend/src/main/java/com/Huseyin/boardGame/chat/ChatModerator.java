@@ -0,0 +1,61 @@
+package com.Huseyin.boardGame.chat;
+
+import com.Huseyin.boardGame.repository.BlockedTermRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocked-term filter on the chat send path.
+ *
+ * The admin term list (chat_blocked_terms) is compiled into a {@link TermMatcher};
+ * a change rebuilds it off to the side and swaps the reference, so senders always
+ * see either the old or the new list, never a half-built one.
+ *
+ * Metrics: chat.moderation.latency (per message), chat.moderation.masked.
+ */
+@Component
+public class ChatModerator {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatModerator.class);
+
+    private final BlockedTermRepository termRepository;
+    private final Timer latency;
+    private final Counter masked;
+
+    private volatile TermMatcher matcher = TermMatcher.EMPTY;
+
+    public ChatModerator(BlockedTermRepository termRepository, MeterRegistry meters) {
+        this.termRepository = termRepository;
+        this.latency = Timer.builder("chat.moderation.latency")
+                .description("Blocked-term scan of one chat message")
+                .register(meters);
+        this.masked = Counter.builder("chat.moderation.masked")
+                .description("Chat messages with at least one blocked term")
+                .register(meters);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() { // serialized: the last reload always wins
+        TermMatcher fresh = TermMatcher.of(termRepository.findAllTerms());
+        matcher = fresh;
+        log.info("Chat moderation: {} blocked terms", fresh.termCount());
+    }
+
+    /** Text with blocked terms masked ('*'). */
+    public String filter(String text) {
+        TermMatcher m = matcher;
+        long start = System.nanoTime();
+        String out = m.mask(text);
+        latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (out != text) masked.increment();
+        return out;
+    }
+}
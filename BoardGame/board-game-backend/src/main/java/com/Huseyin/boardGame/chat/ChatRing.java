@@ -0,0 +1,132 @@
+package com.Huseyin.boardGame.chat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded, id-ordered ring of one game's latest chat messages (immutable DTO maps).
+ *
+ * Holds a contiguous tail of the game's history: every message newer than the oldest
+ * held one is in the ring. So "after id X" is answered here whenever X is not older
+ * than the oldest held message (or the ring holds the whole history), by a binary
+ * search over the ids. Otherwise the caller falls back to the DB.
+ */
+final class ChatRing {
+
+    private final long[] ids;
+    private final Map<String, Object>[] dtos;
+    private int head;              // physical index of the oldest message
+    private int size;
+    private boolean complete;      // ring holds the game's whole history
+    private boolean loaded;
+
+    @SuppressWarnings("unchecked")
+    ChatRing(int capacity) {
+        this.ids = new long[capacity];
+        this.dtos = (Map<String, Object>[]) new Map<?, ?>[capacity];
+    }
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Seed from the DB (oldest -> newest). {@code complete} = the DB returned fewer
+     * messages than asked for. Messages appended before the seed are kept.
+     */
+    synchronized void load(List<Map<String, Object>> oldestFirst, boolean complete) {
+        if (loaded) return;
+        loaded = true;
+        this.complete = complete && size == 0;
+        // newest are added last, so on overflow the oldest are the ones dropped
+        for (Map<String, Object> dto : oldestFirst) add(dto);
+    }
+
+    /** Insert in id order (normally at the end); duplicates are ignored. */
+    synchronized void add(Map<String, Object> dto) {
+        long id = ((Number) dto.get("id")).longValue();
+        int cap = ids.length;
+
+        int pos = search(id);
+        if (pos >= 0) return;              // already held
+        pos = -pos - 1;                    // logical insert position
+
+        if (size == cap) {
+            if (pos == 0) return;          // older than everything held: not part of the tail
+            // drop the oldest
+            dtos[head] = null;
+            head = (head + 1) % cap;
+            size--;
+            pos--;
+            complete = false;
+        }
+
+        // shift newer entries one step to the right (rare: out-of-order commit)
+        for (int i = size; i > pos; i--) {
+            int to = phys(i), from = phys(i - 1);
+            ids[to] = ids[from];
+            dtos[to] = dtos[from];
+        }
+        int at = phys(pos);
+        ids[at] = id;
+        dtos[at] = dto;
+        size++;
+    }
+
+    /**
+     * Messages with id > afterId (all held ones if afterId is null), oldest -> newest,
+     * or null if the ring can't answer (afterId is older than its tail).
+     */
+    synchronized List<Map<String, Object>> after(Long afterId) {
+        if (!loaded) return null;
+        if (afterId == null) return copy(0);
+        if (size > 0 && afterId < ids[head] && !complete) return null;
+
+        int pos = search(afterId);
+        return copy(pos >= 0 ? pos + 1 : -pos - 1);
+    }
+
+    /**
+     * The newest {@code limit} messages with id < beforeId, oldest -> newest, or null if
+     * the ring doesn't hold that many of them (and older ones may exist in the DB).
+     */
+    synchronized List<Map<String, Object>> before(long beforeId, int limit) {
+        if (!loaded) return null;
+
+        int pos = search(beforeId);
+        int end = (pos >= 0 ? pos : -pos - 1); // held ids < beforeId are [0, end)
+        if (end >= limit) return copy(end - limit, end);
+        return complete ? copy(0, end) : null;
+    }
+
+    private List<Map<String, Object>> copy(int from) {
+        return copy(from, size);
+    }
+
+    private List<Map<String, Object>> copy(int from, int to) {
+        if (from >= to) return Collections.emptyList();
+        List<Map<String, Object>> out = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) out.add(dtos[phys(i)]);
+        return out;
+    }
+
+    /** binary search over logical positions; like {@link Arrays#binarySearch} */
+    private int search(long id) {
+        int lo = 0, hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long v = ids[phys(mid)];
+            if (v < id) lo = mid + 1;
+            else if (v > id) hi = mid - 1;
+            else return mid;
+        }
+        return -(lo + 1);
+    }
+
+    private int phys(int logical) {
+        return (head + logical) % ids.length;
+    }
+}
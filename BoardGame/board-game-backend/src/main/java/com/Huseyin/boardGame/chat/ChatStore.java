@@ -0,0 +1,33 @@
+package com.Huseyin.boardGame.chat;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where chat messages live. Selected by {@code chat.store}:
+ *   jpa (default) - chat_message table, write-behind batched ({@link JpaChatStore})
+ *   log           - memory-mapped append-only log on local disk ({@link LogChatStore})
+ *
+ * Reads return immutable chat DTO maps (see {@link ChatHistory#toDto}), oldest -> newest.
+ * {@link ChatHistory} keeps the hot tail in memory and only comes here on a miss.
+ */
+public interface ChatStore {
+
+    /** Accept a message; returns its DTO (with its final id). */
+    Map<String, Object> append(Long gameId, Long userId, String username, String text);
+
+    /** The newest {@code limit} messages. */
+    List<Map<String, Object>> latest(Long gameId, int limit);
+
+    /** The first {@code limit} messages with id > afterId. */
+    List<Map<String, Object>> after(Long gameId, long afterId, int limit);
+
+    /** The newest {@code limit} messages with id < beforeId. */
+    List<Map<String, Object>> before(Long gameId, long beforeId, int limit);
+
+    /** Room being deleted: runs in the deleting transaction, before the game row goes. */
+    void deleteGame(Long gameId);
+
+    /** All rooms being deleted (same transaction rule). */
+    void deleteAll();
+}
@@ -0,0 +1,263 @@
+package com.Huseyin.boardGame.chat;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind for chat: a message is acknowledged once it has its id
+ * ({@link ChatIdAllocator}), sits in memory and (optionally) in the local {@link ChatJournal}.
+ * Pending messages are written every {@link #FLUSH_MS}, or as soon as {@link #BATCH_SIZE}
+ * are waiting, as one multi-row INSERT per batch over plain JDBC.
+ *
+ * A chat burst therefore costs one connection for a few ms per batch instead of one
+ * transaction per message, and no longer competes with game commands for the pool.
+ *
+ * Metrics: chat.writer.flush (timer per batch), chat.writer.pending.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.store", havingValue = "jpa", matchIfMissing = true)
+public class ChatWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatWriter.class);
+
+    private static final long FLUSH_MS = 100;
+    private static final int BATCH_SIZE = 200;
+
+    public record Row(long id, long gameId, long userId, String text, long createdAt) {}
+
+    private final JdbcTemplate jdbc;
+    private final ChatIdAllocator ids;
+    private final Path journalPath;
+    private ChatJournal journal;
+    private final Object journalLock = new Object(); // journal append + enqueue vs. truncate
+
+    private final Queue<Row> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushQueued = new AtomicBoolean(false);
+    private final List<Row> retry = new ArrayList<>(); // flusher thread only
+    private final Timer flushTimer;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "chat-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ChatWriter(JdbcTemplate jdbc,
+                      ChatIdAllocator ids,
+                      MeterRegistry meters,
+                      @Value("${chat.journal.path:}") String journalPath) {
+        this.jdbc = jdbc;
+        this.ids = ids;
+        this.journalPath = journalPath.isBlank() ? null : Path.of(journalPath);
+        this.flushTimer = Timer.builder("chat.writer.flush")
+                .description("One batched chat insert")
+                .register(meters);
+        Gauge.builder("chat.writer.pending", pendingCount, AtomicInteger::get)
+                .description("Chat messages acknowledged but not yet in the DB")
+                .register(meters);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (journalPath != null) {
+            journal = new ChatJournal(journalPath);
+            replay(journal.readAll());
+        }
+        flusher.scheduleWithFixedDelay(this::flushAll, FLUSH_MS, FLUSH_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        // don't lose the last interval on shutdown
+        flushAll();
+        if (journal != null) journal.close();
+    }
+
+    /**
+     * Accept a message: assigns its final id and queues the insert. Returns the row
+     * (game / user existence is the caller's job).
+     */
+    public Row append(Long gameId, Long userId, String text) {
+        Row row = new Row(ids.nextId(), gameId, userId, text, System.currentTimeMillis());
+
+        if (journal != null) {
+            synchronized (journalLock) {
+                try {
+                    journal.append(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Chat journal write failed", e);
+                }
+                enqueue(row);
+            }
+        } else {
+            enqueue(row);
+        }
+        return row;
+    }
+
+    private void enqueue(Row row) {
+        pending.add(row);
+        if (pendingCount.incrementAndGet() >= BATCH_SIZE && flushQueued.compareAndSet(false, true)) {
+            flusher.execute(this::flushAll);
+        }
+    }
+
+    /**
+     * Room being deleted: its queued messages are never written. Runs on the writer thread,
+     * so a batch already being inserted has finished when this returns.
+     */
+    public void discard(Long gameId) {
+        discardWhere(r -> r.gameId() == gameId);
+    }
+
+    public void discardAll() {
+        discardWhere(r -> true);
+    }
+
+    private void discardWhere(Predicate<Row> doomed) {
+        Future<?> done = flusher.submit(() -> {
+            for (Iterator<Row> it = pending.iterator(); it.hasNext(); ) {
+                if (doomed.test(it.next())) {
+                    it.remove();
+                    pendingCount.decrementAndGet();
+                }
+            }
+            retry.removeIf(doomed);
+        });
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while discarding chat messages", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Discarding chat messages failed", e.getCause());
+        }
+    }
+
+    // =========================
+    // Flush (chat-writer thread)
+    // =========================
+
+    void flushAll() {
+        flushQueued.set(false);
+        try {
+            if (!retry.isEmpty()) {
+                List<Row> again = new ArrayList<>(retry);
+                retry.clear();
+                if (!write(again)) return;
+            }
+
+            List<Row> batch = new ArrayList<>(BATCH_SIZE);
+            Row row;
+            while ((row = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                batch.add(row);
+                if (batch.size() == BATCH_SIZE) {
+                    if (!write(batch)) return;
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty() && !write(batch)) return;
+
+            if (journal != null) {
+                synchronized (journalLock) {
+                    // nothing accepted since the drain: everything journaled is in the DB
+                    if (pending.isEmpty()) journal.truncate();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Chat flush failed", e);
+        }
+    }
+
+    /** False if the DB is unavailable: the batch is kept for the next interval. */
+    private boolean write(List<Row> batch) {
+        try {
+            flushTimer.record(() -> insert(batch));
+            return true;
+        } catch (DataIntegrityViolationException bad) {
+            // one bad row (e.g. its room was deleted meanwhile) must not block the rest
+            for (Row r : batch) {
+                try {
+                    insert(List.of(r));
+                } catch (DataIntegrityViolationException e) {
+                    log.warn("Dropping chat message {} of game {}: {}", r.id(), r.gameId(), e.getMostSpecificCause().getMessage());
+                } catch (RuntimeException e) {
+                    retry.add(r);
+                }
+            }
+            return retry.isEmpty();
+        } catch (RuntimeException e) {
+            log.warn("Chat flush of {} messages failed, retrying: {}", batch.size(), e.getMessage());
+            retry.addAll(batch);
+            return false;
+        }
+    }
+
+    /** insert into chat_message (...) values (...), (...), ... */
+    private void insert(List<Row> rows) {
+        StringBuilder sql = new StringBuilder(64 + rows.size() * 16)
+                .append("insert into chat_message (id, game_id, user_id, text, created_at) values ");
+        Object[] args = new Object[rows.size() * 5];
+        int a = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            Row r = rows.get(i);
+            sql.append(i == 0 ? "(?,?,?,?,?)" : ",(?,?,?,?,?)");
+            args[a++] = r.id();
+            args[a++] = r.gameId();
+            args[a++] = r.userId();
+            args[a++] = r.text();
+            args[a++] = r.createdAt();
+        }
+        jdbc.update(sql.toString(), args);
+    }
+
+    /** Re-queue journal records that never reached the DB. */
+    private void replay(List<Row> rows) {
+        if (rows.isEmpty()) return;
+
+        Set<Long> stored = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<Row> chunk = rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE));
+            String in = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            stored.addAll(jdbc.queryForList("select id from chat_message where id in (" + in + ")",
+                    Long.class, chunk.stream().map(Row::id).toArray()));
+        }
+
+        int n = 0;
+        for (Row r : rows) {
+            if (stored.contains(r.id())) continue;
+            pending.add(r);
+            pendingCount.incrementAndGet();
+            n++;
+        }
+        log.info("Chat journal replay: {} of {} records were not in the DB", n, rows.size());
+    }
+}
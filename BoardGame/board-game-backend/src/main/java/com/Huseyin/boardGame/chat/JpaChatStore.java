@@ -0,0 +1,66 @@
+package com.Huseyin.boardGame.chat;
+
+import com.Huseyin.boardGame.model.ChatMessage;
+import com.Huseyin.boardGame.repository.ChatMessageRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/** chat_message table: reads via the fetch-join queries, writes through {@link ChatWriter}. */
+@Component
+@ConditionalOnProperty(name = "chat.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaChatStore implements ChatStore {
+
+    private final ChatMessageRepository chatRepo;
+    private final ChatWriter writer;
+
+    public JpaChatStore(ChatMessageRepository chatRepo, ChatWriter writer) {
+        this.chatRepo = chatRepo;
+        this.writer = writer;
+    }
+
+    @Override
+    public Map<String, Object> append(Long gameId, Long userId, String username, String text) {
+        ChatWriter.Row row = writer.append(gameId, userId, text);
+        return ChatHistory.toDto(row.id(), row.userId(), username, row.text(), row.createdAt());
+    }
+
+    @Override
+    public List<Map<String, Object>> latest(Long gameId, int limit) {
+        List<ChatMessage> msgs = chatRepo.findLatestWithUser(gameId, PageRequest.of(0, limit)); // newest->oldest
+        Collections.reverse(msgs);
+        return toDtos(msgs);
+    }
+
+    @Override
+    public List<Map<String, Object>> after(Long gameId, long afterId, int limit) {
+        return toDtos(chatRepo.findAfterWithUser(gameId, afterId, PageRequest.of(0, limit))); // already asc
+    }
+
+    @Override
+    public List<Map<String, Object>> before(Long gameId, long beforeId, int limit) {
+        List<ChatMessage> msgs = chatRepo.findBeforeWithUser(gameId, beforeId, PageRequest.of(0, limit)); // newest->oldest
+        Collections.reverse(msgs);
+        return toDtos(msgs);
+    }
+
+    @Override
+    public void deleteGame(Long gameId) {
+        writer.discard(gameId); // nothing of this game is inserted after the delete below
+        chatRepo.deleteByGameId(gameId);
+    }
+
+    @Override
+    public void deleteAll() {
+        writer.discardAll();
+        chatRepo.deleteAllInBatch();
+    }
+
+    private static List<Map<String, Object>> toDtos(List<ChatMessage> msgs) {
+        List<Map<String, Object>> out = new ArrayList<>(msgs.size());
+        for (ChatMessage m : msgs) out.add(ChatHistory.toDto(m));
+        return out;
+    }
+}
@@ -0,0 +1,349 @@
+package com.Huseyin.boardGame.chat;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Chat as a shared, append-only, memory-mapped log ({@code chat.store=log}).
+ *
+ * - Segments "chat-00000001.log", ... of {@link #SEGMENT_BYTES} each, mapped read-write;
+ *   appends and reads are plain memory accesses, the OS page cache does the I/O.
+ * - Record: int length | int crc32 | body. Body = type, then for a message
+ *   id, gameId, userId, createdAt, username, text; for a room delete just the gameId.
+ *   A zero length marks the end; a bad crc (torn write) ends the replay.
+ * - Per-game offset index (ids + record locations) in memory, rebuilt by one scan on start.
+ * - Durability via {@code chat.log.fsync}: always (force every append), interval
+ *   (force every {@code chat.log.fsync-ms}) or never (OS writeback, force on shutdown).
+ *
+ * Ids are this log's own (max seen + 1). Deleted rooms are recorded, not compacted.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.store", havingValue = "log")
+public class LogChatStore implements ChatStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LogChatStore.class);
+
+    static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+    private static final int HEADER = 8;
+    private static final byte MESSAGE = 1;
+    private static final byte GAME_DELETED = 2;
+
+    public enum Fsync { ALWAYS, INTERVAL, NEVER }
+
+    private final Path dir;
+    private final Fsync fsync;
+    private final long fsyncMs;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<Long, GameLog> games = new ConcurrentHashMap<>();
+    private final CRC32 crc = new CRC32();   // writer only
+    private long nextId = 1;                 // writer only
+    private ScheduledExecutorService syncer;
+
+    public LogChatStore(@Value("${chat.log.dir:chat-log}") String dir,
+                        @Value("${chat.log.fsync:interval}") String fsync,
+                        @Value("${chat.log.fsync-ms:1000}") long fsyncMs) {
+        this.dir = Path.of(dir);
+        this.fsync = Fsync.valueOf(fsync.trim().toUpperCase(Locale.ROOT));
+        this.fsyncMs = fsyncMs;
+    }
+
+    /** One mapped segment file; {@code end} = write position (writer only). */
+    private static final class Segment {
+        final Path file;
+        final FileChannel channel;
+        final MappedByteBuffer buf;
+        int end;
+
+        Segment(Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_BYTES);
+        }
+    }
+
+    /** Id-ordered record locations of one game: (segment index << 32) | offset. */
+    private static final class GameLog {
+        private long[] ids = new long[16];
+        private long[] locs = new long[16];
+        private int size;
+
+        synchronized void add(long id, long loc) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                locs = Arrays.copyOf(locs, size * 2);
+            }
+            ids[size] = id;
+            locs[size] = loc;
+            size++;
+        }
+
+        /** locations of positions [from, to) after clamping; reading under the lock publishes the bytes */
+        synchronized long[] range(int from, int to) {
+            from = Math.max(0, from);
+            to = Math.min(size, to);
+            return from >= to ? new long[0] : Arrays.copyOfRange(locs, from, to);
+        }
+
+        /** index of the first id > afterId */
+        synchronized int firstAbove(long afterId) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ids[mid] <= afterId) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+
+    // =========================
+    // Lifecycle
+    // =========================
+
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(dir);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "chat-*.log")) {
+            for (Path f : ds) files.add(f);
+        }
+        Collections.sort(files);
+
+        for (Path f : files) {
+            Segment seg = new Segment(f);
+            segments.add(seg);
+            replay(segments.size() - 1, seg);
+        }
+        if (segments.isEmpty()) roll();
+
+        if (fsync == Fsync.INTERVAL) {
+            syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "chat-log-fsync");
+                t.setDaemon(true);
+                return t;
+            });
+            syncer.scheduleWithFixedDelay(this::force, fsyncMs, fsyncMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("Chat log {}: {} segments, {} games, next id {}", dir, segments.size(), games.size(), nextId);
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (syncer != null) syncer.shutdownNow();
+        for (Segment seg : segments) {
+            seg.buf.force();
+            seg.channel.close();
+        }
+    }
+
+    private void force() {
+        active().buf.force();
+    }
+
+    private void replay(int segIndex, Segment seg) {
+        MappedByteBuffer buf = seg.buf;
+        int off = 0;
+        while (off + HEADER < SEGMENT_BYTES) {
+            int len = buf.getInt(off);
+            if (len <= 0 || off + HEADER + len > SEGMENT_BYTES) break;
+
+            crc.reset();
+            crc.update(buf.slice(off + HEADER, len));
+            if ((int) crc.getValue() != buf.getInt(off + 4)) {
+                log.warn("Chat log {}: torn record at {}, ignoring the rest", seg.file, off);
+                break;
+            }
+
+            int body = off + HEADER;
+            if (buf.get(body) == MESSAGE) {
+                long id = buf.getLong(body + 1);
+                long gameId = buf.getLong(body + 9);
+                games.computeIfAbsent(gameId, g -> new GameLog()).add(id, ((long) segIndex << 32) | off);
+                nextId = Math.max(nextId, id + 1);
+            } else {
+                games.remove(buf.getLong(body + 1));
+            }
+            off += HEADER + len;
+        }
+        seg.end = off;
+    }
+
+    // =========================
+    // Writes (one writer at a time)
+    // =========================
+
+    @Override
+    public synchronized Map<String, Object> append(Long gameId, Long userId, String username, String text) {
+        String name = (username != null ? username : "");
+        byte[] u = name.getBytes(StandardCharsets.UTF_8);
+        byte[] t = text.getBytes(StandardCharsets.UTF_8);
+        int len = 1 + 4 * 8 + 2 + u.length + 2 + t.length;
+
+        long id = nextId++;
+        long createdAt = System.currentTimeMillis();
+
+        Segment seg = reserve(len);
+        MappedByteBuffer buf = seg.buf;
+        int off = seg.end;
+        int p = off + HEADER;
+        buf.put(p, MESSAGE);
+        buf.putLong(p + 1, id);
+        buf.putLong(p + 9, gameId);
+        buf.putLong(p + 17, userId);
+        buf.putLong(p + 25, createdAt);
+        buf.putShort(p + 33, (short) u.length);
+        buf.put(p + 35, u);
+        buf.putShort(p + 35 + u.length, (short) t.length);
+        buf.put(p + 37 + u.length, t);
+        commit(seg, off, len);
+
+        games.computeIfAbsent(gameId, g -> new GameLog()).add(id, ((long) (segments.size() - 1) << 32) | off);
+        return ChatHistory.toDto(id, userId, name, text, createdAt);
+    }
+
+    @Override
+    public void deleteGame(Long gameId) {
+        // the log can't roll back: the tombstone is written once the delete committed
+        afterCommit(() -> tombstone(gameId));
+    }
+
+    @Override
+    public void deleteAll() {
+        afterCommit(() -> {
+            synchronized (this) {
+                for (Long gameId : List.copyOf(games.keySet())) tombstone(gameId);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private synchronized void tombstone(Long gameId) {
+        if (games.remove(gameId) == null) return;
+
+        int len = 1 + 8;
+        Segment seg = reserve(len);
+        int off = seg.end;
+        seg.buf.put(off + HEADER, GAME_DELETED);
+        seg.buf.putLong(off + HEADER + 1, gameId);
+        commit(seg, off, len);
+    }
+
+    private Segment reserve(int len) {
+        Segment seg = active();
+        if (seg.end + HEADER + len + 4 > SEGMENT_BYTES) {
+            seg.buf.force();
+            try {
+                roll();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start a new chat log segment", e);
+            }
+            seg = active();
+        }
+        return seg;
+    }
+
+    /** crc, then the length last: a record only counts once its length is there */
+    private void commit(Segment seg, int off, int len) {
+        crc.reset();
+        crc.update(seg.buf.slice(off + HEADER, len));
+        seg.buf.putInt(off + 4, (int) crc.getValue());
+        seg.buf.putInt(off, len);
+        seg.end = off + HEADER + len;
+        if (fsync == Fsync.ALWAYS) seg.buf.force(off, HEADER + len);
+    }
+
+    private void roll() throws IOException {
+        Path file = dir.resolve(String.format("chat-%08d.log", segments.size() + 1));
+        segments.add(new Segment(file));
+    }
+
+    private Segment active() {
+        return segments.get(segments.size() - 1);
+    }
+
+    // =========================
+    // Reads (any thread)
+    // =========================
+
+    @Override
+    public List<Map<String, Object>> latest(Long gameId, int limit) {
+        GameLog g = games.get(gameId);
+        if (g == null) return Collections.emptyList();
+        int n = g.size();
+        return decode(g.range(n - limit, n));
+    }
+
+    @Override
+    public List<Map<String, Object>> after(Long gameId, long afterId, int limit) {
+        GameLog g = games.get(gameId);
+        if (g == null) return Collections.emptyList();
+        int from = g.firstAbove(afterId);
+        return decode(g.range(from, from + limit));
+    }
+
+    @Override
+    public List<Map<String, Object>> before(Long gameId, long beforeId, int limit) {
+        GameLog g = games.get(gameId);
+        if (g == null) return Collections.emptyList();
+        int end = g.firstAbove(beforeId - 1); // ids < beforeId are [0, end)
+        return decode(g.range(end - limit, end));
+    }
+
+    private List<Map<String, Object>> decode(long[] locs) {
+        List<Map<String, Object>> out = new ArrayList<>(locs.length);
+        for (long loc : locs) {
+            MappedByteBuffer buf = segments.get((int) (loc >>> 32)).buf;
+            int p = (int) loc + HEADER;
+
+            long id = buf.getLong(p + 1);
+            long userId = buf.getLong(p + 17);
+            long createdAt = buf.getLong(p + 25);
+            byte[] u = new byte[buf.getShort(p + 33) & 0xFFFF];
+            buf.get(p + 35, u);
+            byte[] t = new byte[buf.getShort(p + 35 + u.length) & 0xFFFF];
+            buf.get(p + 37 + u.length, t);
+
+            out.add(ChatHistory.toDto(id, userId,
+                    new String(u, StandardCharsets.UTF_8), new String(t, StandardCharsets.UTF_8), createdAt));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,150 @@
+package com.Huseyin.boardGame.chat;
+
+import java.util.*;
+
+/**
+ * Immutable Aho-Corasick automaton over a blocked-term list.
+ *
+ * Text and terms are folded char by char (lower case, Turkish letters to their
+ * ASCII base, dotted / dotless i alike), so one term covers "Şey", "sey" and "ŞEY".
+ * The goto function is a full DFA table over the terms' own alphabet: a scan is
+ * one table lookup per char and allocates nothing unless something is masked.
+ *
+ * A match must start at a word boundary (so suffixed forms are caught but a term
+ * inside an unrelated word is not). Matches are replaced by '*'.
+ */
+public final class TermMatcher {
+
+    public static final TermMatcher EMPTY = new TermMatcher(List.of());
+
+    private static final char[] FOLD = new char[Character.MAX_VALUE + 1];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) FOLD[c] = Character.toLowerCase((char) c);
+        FOLD['İ'] = 'i'; FOLD['I'] = 'i'; FOLD['ı'] = 'i';
+        FOLD['Ş'] = 's'; FOLD['ş'] = 's';
+        FOLD['Ğ'] = 'g'; FOLD['ğ'] = 'g';
+        FOLD['Ç'] = 'c'; FOLD['ç'] = 'c';
+        FOLD['Ö'] = 'o'; FOLD['ö'] = 'o';
+        FOLD['Ü'] = 'u'; FOLD['ü'] = 'u';
+    }
+
+    private final int termCount;
+    private final int[] symbol;   // folded char -> alphabet index + 1 (0 = not in any term)
+    private final int width;      // alphabet size
+    private final int[] next;     // state * width + symbol -> state (complete DFA)
+    private final int[] outLen;   // length of the term ending in this state, 0 if none
+    private final int[] outLink;  // nearest state on the fail chain with outLen > 0, or -1
+
+    private TermMatcher(Collection<String> rawTerms) {
+        List<String> terms = new ArrayList<>();
+        for (String t : rawTerms) {
+            String f = fold(t == null ? "" : t.trim());
+            if (!f.isEmpty()) terms.add(f);
+        }
+        this.termCount = terms.size();
+
+        // alphabet = chars used by the terms
+        Map<Character, Integer> alphabet = new HashMap<>();
+        for (String t : terms) for (char c : t.toCharArray()) alphabet.putIfAbsent(c, alphabet.size());
+        this.width = Math.max(1, alphabet.size());
+        this.symbol = new int[Character.MAX_VALUE + 1];
+        alphabet.forEach((c, i) -> symbol[c] = i + 1);
+
+        // trie
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> lens = new ArrayList<>();
+        trie.add(newRow(width));
+        lens.add(0);
+        for (String t : terms) {
+            int s = 0;
+            for (char c : t.toCharArray()) {
+                int a = symbol[c] - 1;
+                if (trie.get(s)[a] < 0) {
+                    trie.get(s)[a] = trie.size();
+                    trie.add(newRow(width));
+                    lens.add(0);
+                }
+                s = trie.get(s)[a];
+            }
+            lens.set(s, t.length());
+        }
+
+        int states = trie.size();
+        this.next = new int[states * width];
+        this.outLen = new int[states];
+        this.outLink = new int[states];
+        int[] fail = new int[states];
+        for (int s = 0; s < states; s++) outLen[s] = lens.get(s);
+
+        // BFS: fail links, then fill missing edges from the fail state
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        outLink[0] = -1;
+        for (int a = 0; a < width; a++) {
+            int child = trie.get(0)[a];
+            if (child < 0) {
+                next[a] = 0;
+            } else {
+                next[a] = child;
+                fail[child] = 0;
+                outLink[child] = -1;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            for (int a = 0; a < width; a++) {
+                int child = trie.get(s)[a];
+                if (child < 0) {
+                    next[s * width + a] = next[fail[s] * width + a];
+                } else {
+                    next[s * width + a] = child;
+                    int f = next[fail[s] * width + a];
+                    fail[child] = f;
+                    outLink[child] = outLen[f] > 0 ? f : outLink[f];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    private static int[] newRow(int width) {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    public static TermMatcher of(Collection<String> terms) {
+        return terms.isEmpty() ? EMPTY : new TermMatcher(terms);
+    }
+
+    public static String fold(String s) {
+        char[] out = new char[s.length()];
+        for (int i = 0; i < out.length; i++) out[i] = FOLD[s.charAt(i)];
+        return new String(out);
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    /** The text with every blocked term masked; the same instance if nothing matched. */
+    public String mask(String text) {
+        if (termCount == 0) return text;
+
+        char[] masked = null;
+        int s = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            int a = symbol[FOLD[text.charAt(i)]];
+            s = (a == 0) ? 0 : next[s * width + a - 1];
+
+            for (int o = (outLen[s] > 0 ? s : outLink[s]); o >= 0; o = outLink[o]) {
+                int start = i - outLen[o] + 1;
+                if (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) continue;
+                if (masked == null) masked = text.toCharArray();
+                Arrays.fill(masked, start, i + 1, '*');
+            }
+        }
+        return masked == null ? text : new String(masked);
+    }
+}
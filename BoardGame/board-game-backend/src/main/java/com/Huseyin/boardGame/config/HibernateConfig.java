@@ -0,0 +1,16 @@
+package com.Huseyin.boardGame.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig {
+
+    // ✅ statement counting per game command
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return props -> props.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
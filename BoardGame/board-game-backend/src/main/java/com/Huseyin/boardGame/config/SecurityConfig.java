@@ -44,6 +44,7 @@ public class SecurityConfig {
 
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("ETag"));
 
         // if you are NOT using cookies/sessions, keep false
         config.setAllowCredentials(false);
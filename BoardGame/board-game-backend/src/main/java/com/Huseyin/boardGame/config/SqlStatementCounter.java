@@ -0,0 +1,25 @@
+package com.Huseyin.boardGame.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts SQL statements prepared by Hibernate on the current thread.
+ *
+ * Used to measure how many statements one game command costs
+ * (see GameCommandExecutor: game.commands.sql).
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /** Statements prepared so far on this thread. */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -1,14 +1,15 @@
 package com.Huseyin.boardGame.controller;
 
-import com.Huseyin.boardGame.model.ChatMessage;
-import com.Huseyin.boardGame.model.Game;
+import com.Huseyin.boardGame.chat.ChatHistory;
+import com.Huseyin.boardGame.chat.ChatModerator;
+import com.Huseyin.boardGame.game.GameDelta;
+import com.Huseyin.boardGame.game.GameEventStream;
+import com.Huseyin.boardGame.game.GameSession;
+import com.Huseyin.boardGame.game.GameSessionRegistry;
+import com.Huseyin.boardGame.game.Roster;
 import com.Huseyin.boardGame.model.User;
-import com.Huseyin.boardGame.repository.ChatMessageRepository;
-import com.Huseyin.boardGame.repository.GameRepository;
 import com.Huseyin.boardGame.repository.UserRepository;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
@@ -18,24 +19,24 @@ import java.util.*;
 @RequestMapping("/api/games")
 public class ChatController {
 
-    private static final int CHAT_LIMIT = 50;
     private static final int MAX_LEN = 280;
 
-    private final ChatMessageRepository chatRepo;
-    private final GameRepository gameRepo;
     private final UserRepository userRepo;
-
-    public ChatController(ChatMessageRepository chatRepo,
-                          GameRepository gameRepo,
-                          UserRepository userRepo) {
-        this.chatRepo = chatRepo;
-        this.gameRepo = gameRepo;
+    private final GameEventStream eventStream;
+    private final ChatHistory chatHistory;
+    private final GameSessionRegistry sessions;
+    private final ChatModerator moderator;
+
+    public ChatController(UserRepository userRepo,
+                          GameEventStream eventStream,
+                          ChatHistory chatHistory,
+                          GameSessionRegistry sessions,
+                          ChatModerator moderator) {
         this.userRepo = userRepo;
-    }
-
-    private Game requireGame(Long gameId) {
-        return gameRepo.findById(gameId)
-                .orElseThrow(() -> new RuntimeException("Game not found: " + gameId));
+        this.eventStream = eventStream;
+        this.chatHistory = chatHistory;
+        this.sessions = sessions;
+        this.moderator = moderator;
     }
 
     private User requireUser(Long userId) {
@@ -43,49 +44,34 @@ public class ChatController {
                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
     }
 
-    private Map<String, Object> toDto(ChatMessage m) {
-        Map<String, Object> dto = new HashMap<>();
-        dto.put("id", m.getId());
-        dto.put("userId", m.getUser().getId());
-        dto.put("username", m.getUser().getUsername());
-        dto.put("text", m.getText());
-        dto.put("createdAt", m.getCreatedAt());
-        return dto;
-    }
-
     public static class ChatSendRequest {
         public Long userId;
         public String text;
     }
 
     // GET /api/games/{gameId}/chat?afterId=123
-    @Transactional(readOnly = true)
+    // GET /api/games/{gameId}/chat?beforeId=123&limit=50 (scroll-back, oldest -> newest)
     @GetMapping("/{gameId}/chat")
     public ResponseEntity<?> getChat(@PathVariable Long gameId,
-                                     @RequestParam(required = false) Long afterId) {
+                                     @RequestParam(required = false) Long afterId,
+                                     @RequestParam(required = false) Long beforeId,
+                                     @RequestParam(defaultValue = "" + ChatHistory.CHAT_LIMIT) int limit) {
 
-        if (!gameRepo.existsById(gameId)) {
+        // live session instead of existsById: no DB on the poll path
+        if (sessions.find(gameId) == null) {
             return ResponseEntity.notFound().build();
         }
 
-        var page = PageRequest.of(0, CHAT_LIMIT);
-
-        List<ChatMessage> msgs;
-        if (afterId == null) {
-            msgs = chatRepo.findLatestWithUser(gameId, page); // newest->oldest
-            Collections.reverse(msgs); // oldest->newest for UI
-        } else {
-            msgs = chatRepo.findAfterWithUser(gameId, afterId, page); // already asc
+        if (beforeId != null) {
+            return ResponseEntity.ok(chatHistory.readBefore(gameId, beforeId, limit));
         }
 
-        List<Map<String, Object>> out = new ArrayList<>(msgs.size());
-        for (ChatMessage m : msgs) out.add(toDto(m));
-
-        return ResponseEntity.ok(out);
+        // ✅ served from the game's in-memory ring (DB only on cold start / old afterId)
+        return ResponseEntity.ok(chatHistory.read(gameId, afterId));
     }
 
     // POST /api/games/{gameId}/chat
-    @Transactional
+    // ✅ acknowledged from memory: persisted by the configured ChatStore
     @PostMapping("/{gameId}/chat")
     public ResponseEntity<?> sendChat(@PathVariable Long gameId,
                                       @RequestBody ChatSendRequest req) {
@@ -100,14 +86,21 @@ public class ChatController {
         String t = req.text.trim();
         if (t.isEmpty()) return ResponseEntity.badRequest().body("text is empty");
         if (t.length() > MAX_LEN) t = t.substring(0, MAX_LEN);
+        t = moderator.filter(t); // blocked terms -> ***
+
+        GameSession session = sessions.find(gameId);
+        if (session == null) {
+            throw new RuntimeException("Game not found: " + gameId);
+        }
 
-        Game game = requireGame(gameId);
-        User user = requireUser(req.userId);
+        // players are in the roster; anyone else (e.g. admin) is looked up
+        Roster roster = session.getRoster();
+        int slot = roster.slotOf(req.userId);
+        String username = (slot > 0 ? roster.username(slot) : requireUser(req.userId).getUsername());
 
-        ChatMessage saved = chatRepo.save(new ChatMessage(
-                game, user, t, System.currentTimeMillis()
-        ));
+        Map<String, Object> dto = chatHistory.append(gameId, req.userId, username, t);
+        eventStream.publish(gameId, new GameDelta(GameDelta.Type.CHAT, dto));
 
-        return ResponseEntity.ok(toDto(saved));
+        return ResponseEntity.ok(dto);
     }
 }
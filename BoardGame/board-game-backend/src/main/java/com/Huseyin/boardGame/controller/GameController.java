@@ -1,5 +1,18 @@
 package com.Huseyin.boardGame.controller;
 
+import com.Huseyin.boardGame.chat.ChatHistory;
+import com.Huseyin.boardGame.game.GameDelta;
+import com.Huseyin.boardGame.game.GameEventStream;
+import com.Huseyin.boardGame.game.GameSession;
+import com.Huseyin.boardGame.game.GameSessionRegistry;
+import com.Huseyin.boardGame.game.GameStateMapper;
+import com.Huseyin.boardGame.game.LobbyIndex;
+import com.Huseyin.boardGame.game.QuestionCatalog;
+import com.Huseyin.boardGame.game.Roster;
+import com.Huseyin.boardGame.game.StateETags;
+import com.Huseyin.boardGame.game.StateLongPoll;
+import com.Huseyin.boardGame.game.StateSnapshots;
+import com.Huseyin.boardGame.game.TurnExpiryScheduler;
 import com.Huseyin.boardGame.model.Game;
 import com.Huseyin.boardGame.model.PlayerGameStatus;
 import com.Huseyin.boardGame.model.Question;
@@ -8,30 +21,65 @@ import com.Huseyin.boardGame.repository.GameRepository;
 import com.Huseyin.boardGame.repository.PlayerGameStatusRepository;
 import com.Huseyin.boardGame.repository.QuestionRepository;
 import com.Huseyin.boardGame.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
+import java.util.function.Function;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
 @RequestMapping("/api/games")
 public class GameController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final GameRepository gameRepository;
     private final PlayerGameStatusRepository playerStatusRepository;
     private final UserRepository userRepository;
     private final QuestionRepository questionRepository;
+    private final GameSessionRegistry sessions;
+    private final GameEventStream eventStream;
+    private final StateETags etags;
+    private final StateLongPoll longPoll;
+    private final StateSnapshots snapshots;
+    private final LobbyIndex lobby;
+    private final ChatHistory chatHistory;
+    private final TurnExpiryScheduler turnTimers;
 
     public GameController(GameRepository gameRepository,
                           PlayerGameStatusRepository playerStatusRepository,
                           UserRepository userRepository,
-                          QuestionRepository questionRepository) {
+                          QuestionRepository questionRepository,
+                          GameSessionRegistry sessions,
+                          GameEventStream eventStream,
+                          StateETags etags,
+                          StateLongPoll longPoll,
+                          StateSnapshots snapshots,
+                          LobbyIndex lobby,
+                          ChatHistory chatHistory,
+                          TurnExpiryScheduler turnTimers) {
         this.gameRepository = gameRepository;
         this.playerStatusRepository = playerStatusRepository;
         this.userRepository = userRepository;
         this.questionRepository = questionRepository;
+        this.sessions = sessions;
+        this.eventStream = eventStream;
+        this.etags = etags;
+        this.longPoll = longPoll;
+        this.snapshots = snapshots;
+        this.lobby = lobby;
+        this.chatHistory = chatHistory;
+        this.turnTimers = turnTimers;
     }
 
     // =========================
@@ -48,50 +96,55 @@ public class GameController {
                 .orElseThrow(() -> new RuntimeException("Game not found: " + gameId));
     }
 
-    private boolean isUserInGame(Long gameId, Long userId) {
-        return playerStatusRepository.existsByGame_IdAndPlayer_Id(gameId, userId);
+    /**
+     * Cache cleanup of a room delete: only once the delete committed, so a concurrent
+     * read can't reload the still-visible row and a rollback leaves the caches intact.
+     */
+    private static void afterCommit(Runnable cleanup) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cleanup.run();
+            }
+        });
     }
 
-    private List<PlayerGameStatus> getStatusesSorted(Long gameId) {
-        return playerStatusRepository.findByGame_IdOrderByIdAsc(gameId);
+    /** Live in-memory session (see GameSessionRegistry). */
+    private GameSession requireSession(Long gameId) {
+        GameSession session = sessions.find(gameId);
+        if (session == null) {
+            throw new RuntimeException("Game not found: " + gameId);
+        }
+        return session;
     }
 
-    /** slot = join order (1..n) */
-    private int slotOfUser(Long gameId, Long userId) {
-        List<PlayerGameStatus> statuses = getStatusesSorted(gameId);
-        for (int i = 0; i < statuses.size(); i++) {
-            User u = statuses.get(i).getPlayer();
-            if (u != null && Objects.equals(u.getId(), userId)) {
-                return i + 1;
-            }
+    /**
+     * GET with a version ETag: 304 straight from the session version if the client is
+     * current, otherwise the body (tag and body are taken together on the game thread).
+     */
+    private ResponseEntity<?> versioned(GameSession session, String resource, String ifNoneMatch,
+                                        Function<GameSession, Object> body) {
+        String etag = etags.tag(resource, session);
+        if (etags.notModified(resource, ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
         }
-        return -1;
-    }
 
-    private List<Question> getGameQuestionsSorted(Game game) {
-        List<Question> qs = new ArrayList<>(game.getQuestions() == null ? Set.of() : game.getQuestions());
-        qs.sort(Comparator.comparing(Question::getId));
-        return qs;
+        return sessions.read(session, live -> ResponseEntity.ok()
+                .eTag(etags.tag(resource, live))
+                .cacheControl(CacheControl.noCache())
+                .body(body.apply(live)));
     }
 
+    /** Lowest question id of a room (used when a room row is created / edited). */
     private Long pickFirstQuestionId(Game game) {
-        List<Question> qs = getGameQuestionsSorted(game);
-        return qs.isEmpty() ? null : qs.get(0).getId();
-    }
-
-    /** deterministic next question by id in sorted list */
-    private Long pickNextQuestionId(Game game, Long currentQuestionId) {
-        List<Question> qs = getGameQuestionsSorted(game);
-        if (qs.isEmpty()) return null;
-        if (currentQuestionId == null) return qs.get(0).getId();
-
-        for (int i = 0; i < qs.size(); i++) {
-            if (Objects.equals(qs.get(i).getId(), currentQuestionId)) {
-                int nextIndex = (i + 1) % qs.size();
-                return qs.get(nextIndex).getId();
-            }
-        }
-        return qs.get(0).getId();
+        if (game.getQuestions() == null) return null;
+        return game.getQuestions().stream()
+                .map(Question::getId)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
     }
 
     private long nowMs() {
@@ -103,48 +156,6 @@ public class GameController {
         return nowMs() + (sec * 1000L);
     }
 
-    private PlayerGameStatus requireStatus(Long gameId, Long userId) {
-        return playerStatusRepository.findByGame_IdAndPlayer_Id(gameId, userId)
-                .orElseThrow(() -> new RuntimeException("PlayerGameStatus not found"));
-    }
-
-    /** Find status by slot (join order slot = index+1) */
-    private PlayerGameStatus statusBySlot(Long gameId, int slot) {
-        List<PlayerGameStatus> statuses = getStatusesSorted(gameId);
-        if (slot < 1 || slot > statuses.size()) return null;
-        return statuses.get(slot - 1);
-    }
-
-    // =========================
-    // ✅ Winner / Finish Helper
-    // =========================
-
-    /**
-     * If actor is exactly at LAST_INDEX, mark game as FINISHED and store winner info.
-     * Requires Game.java fields:
-     * - winnerUserId, winnerUsername, finishedAt
-     */
-    private boolean finishIfWinner(Game game, PlayerGameStatus actor) {
-        if (game == null || actor == null) return false;
-
-        if (actor.isAtFinish()) {
-            game.setStatus(Game.Status.FINISHED);
-
-            if (actor.getPlayer() != null) {
-                game.setWinnerUserId(actor.getPlayer().getId());
-                game.setWinnerUsername(actor.getPlayer().getUsername());
-            }
-
-            // requires finishedAt in Game.java
-            game.setFinishedAt(System.currentTimeMillis());
-
-            game.setTurnEndsAt(null); // stop timer
-            gameRepository.save(game);
-            return true;
-        }
-        return false;
-    }
-
     // =========================
     // ✅ Prize Cards (Phase 3)
     // =========================
@@ -191,120 +202,47 @@ public class GameController {
         };
     }
 
-    /** Apply card immediately (and persist) - ✅ exact landing enforced */
-    private PrizeCard applyCard(Game game, PlayerGameStatus actor, PrizeCard card) {
-        if (card == null || actor == null || game == null) return card;
+    /** Apply card immediately on the live session - ✅ exact landing enforced */
+    private PrizeCard applyCard(GameSession session, GameSession.Seat actor, PrizeCard card) {
+        if (card == null || actor == null || session == null) return card;
 
-        if (game.getStatus() == Game.Status.FINISHED) return card;
+        if (session.isFinished()) return card;
 
         CardCode code = CardCode.valueOf(card.code);
 
         switch (code) {
             case MOVE_2 -> {
                 actor.moveByExact(2); // ✅ exact landing
-                playerStatusRepository.save(actor);
-                finishIfWinner(game, actor);
+                session.finishIfWinner(actor, nowMs());
             }
             case MOVE_3 -> {
                 actor.moveByExact(3); // ✅ exact landing
-                playerStatusRepository.save(actor);
-                finishIfWinner(game, actor);
-            }
-            case SHIELD -> {
-                actor.setHasShield(true);
-                playerStatusRepository.save(actor);
+                session.finishIfWinner(actor, nowMs());
             }
+            case SHIELD -> actor.setHasShield(true);
             case BLOCK_NEXT -> {
-                List<PlayerGameStatus> statuses = getStatusesSorted(game.getId());
-                int n = statuses.size();
+                int n = session.playerCount();
                 if (n > 0) {
-                    int active = (game.getCurrentTurnSlot() == null ? 1 : game.getCurrentTurnSlot());
-                    int nextSlot = (active % n) + 1;
+                    int nextSlot = (session.getCurrentTurnSlot() % n) + 1;
 
-                    PlayerGameStatus target = statusBySlot(game.getId(), nextSlot);
+                    GameSession.Seat target = session.seatBySlot(nextSlot);
                     if (target != null) {
                         target.setBlocked(true);
-                        playerStatusRepository.save(target);
-                        if (target.getPlayer() != null) card.targetUserId = target.getPlayer().getId();
+                        card.targetUserId = target.getUserId();
                     }
                 }
             }
         }
 
-        return card;
-    }
-
-    // =========================
-    // Turn handling
-    // =========================
-
-    private void advanceTurnToNextPlayer(Game game) {
-        List<PlayerGameStatus> statuses = getStatusesSorted(game.getId());
-        int n = statuses.size();
-        if (n <= 0) return;
-
-        int current = (game.getCurrentTurnSlot() == null || game.getCurrentTurnSlot() < 1)
-                ? 1
-                : game.getCurrentTurnSlot();
-
-        int next = (current % n) + 1;
-        game.setCurrentTurnSlot(next);
-        game.setCurrentTurn(next); // legacy
-    }
-
-    private void advanceTurnSkippingBlocked(Game game) {
-        List<PlayerGameStatus> statuses = getStatusesSorted(game.getId());
-        int n = statuses.size();
-        if (n <= 0) return;
-
-        int slot = (game.getCurrentTurnSlot() == null || game.getCurrentTurnSlot() < 1)
-                ? 1
-                : game.getCurrentTurnSlot();
+        Map<String, Object> delta = new HashMap<>();
+        delta.put("userId", actor.getUserId());
+        delta.put("code", card.code);
+        delta.put("title", card.title);
+        delta.put("icon", card.icon);
+        delta.put("targetUserId", card.targetUserId);
+        session.note(new GameDelta(GameDelta.Type.CARD_APPLIED, delta));
 
-        for (int tries = 0; tries < n; tries++) {
-            PlayerGameStatus st = statusBySlot(game.getId(), slot);
-            if (st == null) break;
-
-            if (st.isBlocked()) {
-                if (st.isHasShield()) {
-                    st.setHasShield(false);
-                    st.setBlocked(false);
-                    playerStatusRepository.save(st);
-
-                    game.setCurrentTurnSlot(slot);
-                    game.setCurrentTurn(slot);
-                    return;
-                } else {
-                    st.setBlocked(false);
-                    playerStatusRepository.save(st);
-
-                    slot = (slot % n) + 1;
-                    continue;
-                }
-            }
-
-            game.setCurrentTurnSlot(slot);
-            game.setCurrentTurn(slot);
-            return;
-        }
-
-        game.setCurrentTurnSlot(1);
-        game.setCurrentTurn(1);
-    }
-
-    /** If turn expired, advance automatically (ignore FINISHED games) */
-    private void ensureNotExpired(Game game) {
-        if (game.getStatus() == Game.Status.FINISHED) return;
-
-        Long endsAt = game.getTurnEndsAt();
-        if (endsAt != null && nowMs() >= endsAt) {
-            advanceTurnToNextPlayer(game);
-            advanceTurnSkippingBlocked(game);
-
-            game.setCurrentQuestionId(pickNextQuestionId(game, game.getCurrentQuestionId()));
-            game.setTurnEndsAt(computeTurnEndsAt(game));
-            gameRepository.save(game);
-        }
+        return card;
     }
 
     // =========================
@@ -391,209 +329,220 @@ public class GameController {
         game.setTurnEndsAt(null);
 
         Game saved = gameRepository.save(game);
+        lobby.created(saved);
         return ResponseEntity.ok(saved);
     }
 
     // =========================
     // ✅ ADMIN: UPDATE ROOM (EDIT)
     // =========================
-    @Transactional
     @PutMapping("/{gameId}")
     public ResponseEntity<?> updateGame(@PathVariable Long gameId,
                                         @RequestBody GameUpdateRequest req) {
 
-        if (!gameRepository.existsById(gameId)) {
+        GameSession session = sessions.find(gameId);
+        if (session == null) {
             return ResponseEntity.notFound().build();
         }
 
-        Game game = requireGame(gameId);
+        return sessions.restructure(session, () -> {
+            Game game = requireGame(gameId);
 
-        if (req.getName() != null) {
-            String trimmed = req.getName().trim();
-            if (!trimmed.isEmpty()) {
-                game.setName(trimmed);
+            if (req.getName() != null) {
+                String trimmed = req.getName().trim();
+                if (!trimmed.isEmpty()) {
+                    game.setName(trimmed);
+                }
             }
-        }
 
-        if (req.getTimeLimitSeconds() != null) {
-            game.setTimeLimitSeconds(req.getTimeLimitSeconds());
-        }
+            if (req.getTimeLimitSeconds() != null) {
+                game.setTimeLimitSeconds(req.getTimeLimitSeconds());
+            }
 
-        if (req.getQuestionIds() != null) {
-            List<Long> ids = req.getQuestionIds();
-            List<Question> questions = questionRepository.findAllById(ids);
+            if (req.getQuestionIds() != null) {
+                List<Long> ids = req.getQuestionIds();
+                List<Question> questions = questionRepository.findAllById(ids);
 
-            if (questions.size() != ids.size()) {
-                return ResponseEntity.badRequest().body("One or more questionIds not found");
-            }
+                if (questions.size() != ids.size()) {
+                    return ResponseEntity.badRequest().body("One or more questionIds not found");
+                }
 
-            gameRepository.deleteGameQuestions(gameId);
-            game.setQuestions(new HashSet<>(questions));
+                gameRepository.deleteGameQuestions(gameId);
+                game.setQuestions(new HashSet<>(questions));
 
-            Long cur = game.getCurrentQuestionId();
-            boolean curStillExists = (cur != null) && questions.stream().anyMatch(q -> q.getId().equals(cur));
-            if (!curStillExists) {
-                game.setCurrentQuestionId(pickFirstQuestionId(game));
+                Long cur = game.getCurrentQuestionId();
+                boolean curStillExists = (cur != null) && questions.stream().anyMatch(q -> q.getId().equals(cur));
+                if (!curStillExists) {
+                    game.setCurrentQuestionId(pickFirstQuestionId(game));
+                }
             }
-        }
 
-        if (game.getTurnEndsAt() != null && game.getTimeLimitSeconds() != null && game.getStatus() == Game.Status.ACTIVE) {
-            game.setTurnEndsAt(System.currentTimeMillis() + (game.getTimeLimitSeconds() * 1000L));
-        }
+            if (game.getTurnEndsAt() != null && game.getTimeLimitSeconds() != null && game.getStatus() == Game.Status.ACTIVE) {
+                game.setTurnEndsAt(System.currentTimeMillis() + (game.getTimeLimitSeconds() * 1000L));
+            }
 
-        gameRepository.save(game);
+            gameRepository.save(game);
 
-        Map<String, Object> dto = new HashMap<>();
-        dto.put("id", game.getId());
-        dto.put("name", game.getName());
-        dto.put("status", game.getStatus());
-        dto.put("playerCount", playerStatusRepository.countByGame_Id(game.getId()));
-        dto.put("questionCount", (game.getQuestions() == null) ? 0 : game.getQuestions().size());
-        dto.put("timeLimitSeconds", game.getTimeLimitSeconds());
-        dto.put("currentQuestionId", game.getCurrentQuestionId());
-        dto.put("turnEndsAt", game.getTurnEndsAt());
-        dto.put("currentTurnSlot", game.getCurrentTurnSlot());
+            Map<String, Object> dto = new HashMap<>();
+            dto.put("id", game.getId());
+            dto.put("name", game.getName());
+            dto.put("status", game.getStatus());
+            dto.put("playerCount", playerStatusRepository.countByGame_Id(game.getId()));
+            dto.put("questionCount", (game.getQuestions() == null) ? 0 : game.getQuestions().size());
+            dto.put("timeLimitSeconds", game.getTimeLimitSeconds());
+            dto.put("currentQuestionId", game.getCurrentQuestionId());
+            dto.put("turnEndsAt", game.getTurnEndsAt());
+            dto.put("currentTurnSlot", game.getCurrentTurnSlot());
 
-        return ResponseEntity.ok(dto);
+            return ResponseEntity.ok(dto);
+        });
     }
 
     // =========================
-    // ADMIN: LIST ROOMS WITH STATS
+    // ADMIN: LIST ROOMS WITH STATS (keyset paged)
     // =========================
 
+    // GET /api/games?after=0&limit=50&status=ACTIVE
+    // Returns: { items: [...], nextAfter } (nextAfter = null on the last page)
     @GetMapping
-    public List<Map<String, Object>> getAllGames() {
-        List<Game> games = gameRepository.findAll();
-        List<Map<String, Object>> result = new ArrayList<>();
-
-        for (Game g : games) {
-            long playerCount = playerStatusRepository.countByGame_Id(g.getId());
-            int questionCount = (g.getQuestions() == null) ? 0 : g.getQuestions().size();
-
+    public ResponseEntity<?> getAllGames(@RequestParam(defaultValue = "0") Long after,
+                                         @RequestParam(defaultValue = "50") int limit,
+                                         @RequestParam(required = false) Game.Status status) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<GameRepository.RoomRow> rows =
+                gameRepository.findRoomPage(after, status, PageRequest.of(0, size));
+
+        List<Map<String, Object>> items = new ArrayList<>(rows.size());
+        for (GameRepository.RoomRow g : rows) {
             Map<String, Object> dto = new HashMap<>();
             dto.put("id", g.getId());
             dto.put("name", g.getName());
             dto.put("status", g.getStatus());
             dto.put("currentTurn", g.getCurrentTurn());
             dto.put("currentTurnSlot", g.getCurrentTurnSlot());
-            dto.put("playerCount", playerCount);
-            dto.put("questionCount", questionCount);
+            dto.put("playerCount", g.getPlayerCount());
+            dto.put("questionCount", g.getQuestionCount());
             dto.put("timeLimitSeconds", g.getTimeLimitSeconds());
-            result.add(dto);
+            items.add(dto);
         }
-        return result;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", items);
+        response.put("nextAfter", rows.size() == size ? rows.get(rows.size() - 1).getId() : null);
+        return ResponseEntity.ok(response);
     }
 
     // =========================
     // PLAYER: LIST JOINABLE ROOMS
     // =========================
 
+    // Served from LobbyIndex (no DB); changes are pushed on /topic/lobby
     @GetMapping("/open")
     public List<Map<String, Object>> getOpenGames() {
-        List<Game> games = gameRepository.findByStatus(Game.Status.ACTIVE);
-        List<Map<String, Object>> result = new ArrayList<>();
-
-        for (Game g : games) {
-            long count = playerStatusRepository.countByGame_Id(g.getId());
-            if (count < 4) {
-                Map<String, Object> dto = new HashMap<>();
-                dto.put("id", g.getId());
-                dto.put("name", g.getName());
-                dto.put("playerCount", count);
-                dto.put("timeLimitSeconds", g.getTimeLimitSeconds());
-                result.add(dto);
-            }
-        }
-        return result;
+        return lobby.openRooms();
     }
 
     // =========================
     // PLAYER: JOIN ROOM
     // =========================
 
-    @Transactional
     @PostMapping("/{gameId}/join")
     public ResponseEntity<?> joinGame(@PathVariable Long gameId,
                                       @RequestParam Long userId) {
 
-        Game game = requireGame(gameId);
+        GameSession session = requireSession(gameId);
         User user = requireUser(userId);
 
-        if (game.getStatus() != Game.Status.ACTIVE) {
-            return ResponseEntity.badRequest().body("Game is not open for joining");
-        }
-
-        long count = playerStatusRepository.countByGame_Id(gameId);
-        if (count >= 4) {
+        // lock-free seat reservation: a full room is rejected here, before anything is queued
+        if (!session.tryReserveSeat(GameSession.MAX_SEATS)) {
             return ResponseEntity.badRequest().body("Room is full");
         }
 
-        boolean alreadyJoined =
-                playerStatusRepository.existsByGame_IdAndPlayer_Id(gameId, userId);
+        return sessions.restructureRoster(session, () -> {
+            boolean confirmed = false;
+            try {
+                Game game = requireGame(gameId);
 
-        if (!alreadyJoined) {
-            PlayerGameStatus status = new PlayerGameStatus(user, game);
-            playerStatusRepository.save(status);
-            count++;
-        }
+                if (game.getStatus() != Game.Status.ACTIVE) {
+                    return ResponseEntity.badRequest().body("Game is not open for joining");
+                }
 
-        // start timer when FIRST player joins
-        if (count == 1) {
-            if (game.getCurrentQuestionId() == null) {
-                game.setCurrentQuestionId(pickFirstQuestionId(game));
-            }
-            game.setCurrentTurnSlot(1);
-            game.setCurrentTurn(1);
-            game.setTurnEndsAt(computeTurnEndsAt(game));
-            gameRepository.save(game);
-        }
+                // roster is current: pending writes were flushed and seats only change here / in leave
+                Roster roster = session.getRoster();
+                long count = roster.size();
+                if (count >= GameSession.MAX_SEATS) {
+                    return ResponseEntity.badRequest().body("Room is full");
+                }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("gameId", game.getId());
-        response.put("roomName", game.getName());
-        response.put("playerId", user.getId());
-        response.put("players", count);
-        response.put("timeLimitSeconds", game.getTimeLimitSeconds());
-        response.put("currentTurnSlot", game.getCurrentTurnSlot());
-        response.put("turnEndsAt", game.getTurnEndsAt());
+                boolean alreadyJoined = roster.contains(userId);
 
-        return ResponseEntity.ok(response);
+                if (!alreadyJoined) {
+                    PlayerGameStatus status = new PlayerGameStatus(user, game);
+                    playerStatusRepository.save(status);
+                    session.confirmSeat();
+                    confirmed = true;
+                    count++;
+                }
+
+                // start timer when FIRST player joins
+                if (count == 1) {
+                    if (game.getCurrentQuestionId() == null) {
+                        game.setCurrentQuestionId(session.pickFirstQuestionId());
+                    }
+                    game.setCurrentTurnSlot(1);
+                    game.setCurrentTurn(1);
+                    game.setTurnEndsAt(computeTurnEndsAt(game));
+                    gameRepository.save(game);
+                }
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("gameId", game.getId());
+                response.put("roomName", game.getName());
+                response.put("playerId", user.getId());
+                response.put("players", count);
+                response.put("timeLimitSeconds", game.getTimeLimitSeconds());
+                response.put("currentTurnSlot", game.getCurrentTurnSlot());
+                response.put("turnEndsAt", game.getTurnEndsAt());
+
+                return ResponseEntity.ok(response);
+            } finally {
+                if (!confirmed) session.releaseSeat();
+            }
+        });
     }
 
     // =========================
     // PLAYER: LEAVE ROOM
     // =========================
 
-    @Transactional
     @PostMapping("/{gameId}/leave")
     public ResponseEntity<?> leaveGame(@PathVariable Long gameId,
                                        @RequestParam Long userId) {
 
-        if (!gameRepository.existsById(gameId)) {
+        GameSession session = sessions.find(gameId);
+        if (session == null) {
             return ResponseEntity.notFound().build();
         }
         if (!userRepository.existsById(userId)) {
             return ResponseEntity.status(404).body("User not found");
         }
 
-        List<PlayerGameStatus> statuses = playerStatusRepository.findByGame_Id(gameId);
-
-        List<PlayerGameStatus> toDelete = statuses.stream()
-                .filter(s -> s.getPlayer() != null && userId.equals(s.getPlayer().getId()))
-                .toList();
+        return sessions.restructureRoster(session, () -> {
+            Roster roster = session.getRoster();
 
-        if (!toDelete.isEmpty()) {
-            playerStatusRepository.deleteAll(toDelete);
-        }
+            int deleted = roster.contains(userId)
+                    ? playerStatusRepository.deleteByGameIdAndPlayerId(gameId, userId)
+                    : 0;
 
-        long remaining = playerStatusRepository.countByGame_Id(gameId);
+            long remaining = roster.size() - deleted;
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("gameId", gameId);
-        response.put("remainingPlayers", remaining);
-        response.put("message", "Player left the room");
+            Map<String, Object> response = new HashMap<>();
+            response.put("gameId", gameId);
+            response.put("remainingPlayers", remaining);
+            response.put("message", "Player left the room");
 
-        return ResponseEntity.ok(response);
+            return ResponseEntity.ok(response);
+        });
     }
 
     // =========================
@@ -601,32 +550,30 @@ public class GameController {
     // =========================
 
     @GetMapping("/{gameId}/players")
-    public ResponseEntity<?> getPlayersInRoom(@PathVariable Long gameId) {
-        if (!gameRepository.existsById(gameId)) {
+    public ResponseEntity<?> getPlayersInRoom(@PathVariable Long gameId,
+                                              @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        GameSession session = sessions.find(gameId);
+        if (session == null) {
             return ResponseEntity.notFound().build();
         }
 
-        List<PlayerGameStatus> statuses = playerStatusRepository.findByGame_Id(gameId);
-        statuses.sort(Comparator.comparing(PlayerGameStatus::getId));
-
-        List<Map<String, Object>> players = new ArrayList<>();
-        int slot = 1;
-
-        for (PlayerGameStatus s : statuses) {
-            User u = s.getPlayer();
-            if (u == null) continue;
-
-            Map<String, Object> dto = new HashMap<>();
-            dto.put("userId", u.getId());
-            dto.put("username", u.getUsername());
-            dto.put("slot", slot);
-            players.add(dto);
+        return versioned(session, "players", ifNoneMatch, live -> {
+            List<Map<String, Object>> out = new ArrayList<>();
+            int slot = 1;
+            for (GameSession.Seat s : live.getSeats()) {
+                if (s.getUserId() == null) continue;
 
-            slot++;
-            if (slot > 4) break;
-        }
+                Map<String, Object> dto = new HashMap<>();
+                dto.put("userId", s.getUserId());
+                dto.put("username", s.getUsername());
+                dto.put("slot", slot);
+                out.add(dto);
 
-        return ResponseEntity.ok(players);
+                slot++;
+                if (slot > 4) break;
+            }
+            return out;
+        });
     }
 
     // =========================
@@ -634,96 +581,93 @@ public class GameController {
     // =========================
 
     @GetMapping("/{gameId}/questions")
-    public ResponseEntity<?> getQuestionsForGame(@PathVariable Long gameId) {
-        Optional<Game> optGame = gameRepository.findById(gameId);
-        if (optGame.isEmpty()) {
+    public ResponseEntity<?> getQuestionsForGame(@PathVariable Long gameId,
+                                                 @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        GameSession session = sessions.find(gameId);
+        if (session == null) {
             return ResponseEntity.notFound().build();
         }
 
-        Game game = optGame.get();
-        Set<Question> questions = game.getQuestions();
-        List<Map<String, Object>> result = new ArrayList<>();
-        if (questions != null) {
-            for (Question q : questions) {
+        return versioned(session, "questions", ifNoneMatch, live -> {
+            List<Map<String, Object>> out = new ArrayList<>();
+            for (QuestionCatalog.Entry q : live.getQuestions()) {
                 Map<String, Object> dto = new HashMap<>();
-                dto.put("id", q.getId());
-                dto.put("content", q.getContent());
-                dto.put("correctAnswer", q.getCorrectAnswer());
-                dto.put("level", q.getLevel());
-                dto.put("hasImage", q.getImageData() != null && q.getImageData().length > 0);
-                result.add(dto);
+                dto.put("id", q.id());
+                dto.put("content", q.content());
+                dto.put("correctAnswer", q.correctAnswer());
+                dto.put("level", q.level());
+                dto.put("hasImage", q.hasImage());
+                out.add(dto);
             }
-        }
-
-        return ResponseEntity.ok(result);
+            return out;
+        });
     }
 
     // =========================
-    // ✅ GAME STATE (state-only)
+    // ✅ GAME STATE (state-only, served from memory)
+    // Turn expiry is handled by TurnExpiryScheduler, not by polls.
+    // ETag = session version: If-None-Match on an unchanged game => 304
+    // Body = bytes rendered once per version (identity or gzip), shared by all pollers
     // =========================
 
     @GetMapping("/{gameId}/state")
-    public ResponseEntity<?> getGameState(@PathVariable Long gameId) {
-        if (!gameRepository.existsById(gameId)) {
+    public ResponseEntity<?> getGameState(@PathVariable Long gameId,
+                                          @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                          @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding) {
+        GameSession session = sessions.find(gameId);
+        if (session == null) {
             return ResponseEntity.notFound().build();
         }
+        turnTimers.clientSeen(gameId);
 
-        Game game = requireGame(gameId);
-
-        ensureNotExpired(game);
-        game = requireGame(gameId);
-
-        List<PlayerGameStatus> statuses = getStatusesSorted(gameId);
-
-        List<Map<String, Object>> players = new ArrayList<>();
-        for (int i = 0; i < statuses.size(); i++) {
-            PlayerGameStatus s = statuses.get(i);
-            User u = s.getPlayer();
-            if (u == null) continue;
-
-            Map<String, Object> dto = new HashMap<>();
-            dto.put("slot", i + 1);
-            dto.put("userId", u.getId());
-            dto.put("username", u.getUsername());
-            dto.put("position", s.getPosition());
-            players.add(dto);
+        boolean gzip = StateSnapshots.acceptsGzip(acceptEncoding);
+        // tag from the session version first: a current client never costs a render
+        if (etags.notModified("state", ifNoneMatch, snapshots.etag(session, gzip))) {
+            return snapshots.notModified(session, gzip);
         }
+        return snapshots.get(session).ok(gzip);
+    }
 
-        Map<String, Object> qDto = null;
-        if (game.getCurrentQuestionId() != null) {
-            Optional<Question> qOpt = questionRepository.findById(game.getCurrentQuestionId());
-            if (qOpt.isPresent()) {
-                Question q = qOpt.get();
-                qDto = new HashMap<>();
-                qDto.put("id", q.getId());
-                qDto.put("content", q.getContent());
-                qDto.put("hasImage", q.getImageData() != null && q.getImageData().length > 0);
-            }
-        }
+    // =========================
+    // ✅ GAME STATE (long-poll)
+    // GET /api/games/{gameId}/state?sinceVersion=N&waitMs=25000
+    // Answers as soon as stateVersion != N, or 304 after waitMs (max 30 s).
+    // =========================
 
-        Map<String, Object> state = new HashMap<>();
-        state.put("gameId", game.getId());
-        state.put("roomName", game.getName());
-        state.put("status", game.getStatus().name());
-        state.put("serverNow", nowMs());
-        state.put("turnEndsAt", game.getTurnEndsAt());
-        state.put("activeSlot", game.getCurrentTurnSlot());
-        state.put("question", qDto);
-        state.put("players", players);
-        state.put("timeLimitSeconds", game.getTimeLimitSeconds());
+    @GetMapping(value = "/{gameId}/state", params = "sinceVersion")
+    public DeferredResult<ResponseEntity<?>> awaitGameState(@PathVariable Long gameId,
+                                                            @RequestParam long sinceVersion,
+                                                            @RequestParam(defaultValue = "25000") long waitMs,
+                                                            @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding) {
+        GameSession session = sessions.find(gameId);
+        if (session == null) {
+            DeferredResult<ResponseEntity<?>> missing = new DeferredResult<>();
+            missing.setResult(ResponseEntity.notFound().build());
+            return missing;
+        }
+        turnTimers.clientSeen(gameId);
+        return longPoll.await(session, sinceVersion, waitMs, StateSnapshots.acceptsGzip(acceptEncoding));
+    }
 
-        state.put("winnerUserId", game.getWinnerUserId());
-        state.put("winnerUsername", game.getWinnerUsername());
-        state.put("finishedAt", game.getFinishedAt());
+    // =========================
+    // ✅ GAME EVENTS (SSE deltas)
+    // GET /api/games/{gameId}/events   (header Last-Event-ID resumes)
+    // =========================
 
-        return ResponseEntity.ok(state);
+    @GetMapping(value = "/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@PathVariable Long gameId,
+                                                   @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        if (sessions.find(gameId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        turnTimers.clientSeen(gameId);
+        return ResponseEntity.ok(eventStream.subscribe(gameId, lastEventId));
     }
 
     // =========================
     // ✅ ANSWER + Prize Card
     // Returns: { correct, appliedCard?, state }
     // =========================
-    @Transactional
     @PostMapping("/{gameId}/answer")
     public ResponseEntity<?> submitAnswer(@PathVariable Long gameId,
                                           @RequestBody AnswerRequest req) {
@@ -732,151 +676,116 @@ public class GameController {
             return ResponseEntity.badRequest().body("userId is required");
         }
 
-        Game game = requireGame(gameId);
+        GameSession session = requireSession(gameId);
+        return sessions.update(session, live -> answerLocked(live, req));
+    }
 
-        if (game.getStatus() == Game.Status.FINISHED) {
+    /** Runs inside sessions.update(...) */
+    private ResponseEntity<?> answerLocked(GameSession session, AnswerRequest req) {
+        if (session.isFinished()) {
             return ResponseEntity.badRequest().body("Game already finished");
         }
 
-        if (game.getStatus() != Game.Status.ACTIVE) {
+        if (session.getStatus() != Game.Status.ACTIVE) {
             return ResponseEntity.badRequest().body("Game is not ACTIVE");
         }
 
-        // if expired, advance first
-        ensureNotExpired(game);
-        game = requireGame(gameId);
+        // if expired but the timer hasn't fired yet (< 1 tick), advance first
+        session.ensureNotExpired(nowMs());
 
         Long userId = req.getUserId();
 
-        if (!isUserInGame(gameId, userId)) {
-            return ResponseEntity.status(403).body("User is not in this game");
-        }
-
-        int userSlot = slotOfUser(gameId, userId);
+        int userSlot = session.slotOfUser(userId);
         if (userSlot <= 0) {
-            return ResponseEntity.status(403).body("User slot not found");
+            return ResponseEntity.status(403).body("User is not in this game");
         }
 
         // ✅ if current active player is blocked, skip automatically
-        advanceTurnSkippingBlocked(game);
-        gameRepository.save(game);
-        game = requireGame(gameId);
+        session.advanceTurnSkippingBlocked();
 
-        Integer activeSlot = game.getCurrentTurnSlot();
-        if (activeSlot == null) activeSlot = 1;
-
-        if (userSlot != activeSlot) {
+        if (userSlot != session.getCurrentTurnSlot()) {
             return ResponseEntity.status(409).body("Not your turn");
         }
 
         // ensure current question
-        if (game.getCurrentQuestionId() == null) {
-            game.setCurrentQuestionId(pickFirstQuestionId(game));
+        if (session.getCurrentQuestionId() == null) {
+            session.setCurrentQuestionId(session.pickFirstQuestionId());
         }
 
-        Question question = null;
-        if (game.getCurrentQuestionId() != null) {
-            question = questionRepository.findById(game.getCurrentQuestionId()).orElse(null);
-        }
+        QuestionCatalog.Entry question = session.question(session.getCurrentQuestionId());
 
-        boolean correct = false;
-        if (question != null) {
-            String given = (req.getAnswer() == null ? "" : req.getAnswer().trim());
-            String expected = (question.getCorrectAnswer() == null ? "" : question.getCorrectAnswer().trim());
-            correct = given.equalsIgnoreCase(expected);
-        }
+        // accepted answers were compiled when the question entered the catalog
+        boolean correct = (question != null) && question.answers().matches(req.getAnswer());
 
-        PlayerGameStatus actor = requireStatus(gameId, userId);
+        GameSession.Seat actor = session.seatBySlot(userSlot);
 
         Map<String, Object> out = new HashMap<>();
         out.put("correct", correct);
 
-        PrizeCard appliedCard = null;
-
         if (correct) {
             // ✅ base move +1 (EXACT landing, no overshoot)
             actor.moveByExact(1);
-            playerStatusRepository.save(actor);
 
             // ✅ winner check immediately
-            if (finishIfWinner(game, actor)) {
+            if (session.finishIfWinner(actor, nowMs())) {
                 out.put("appliedCard", null);
-                out.put("state", getGameState(gameId).getBody());
+                out.put("state", GameStateMapper.state(session));
                 return ResponseEntity.ok(out);
             }
 
             // draw + apply prize immediately (still exact landing)
             PrizeCard drawn = drawRandomCard(new Random());
-            appliedCard = applyCard(game, actor, drawn);
-            out.put("appliedCard", appliedCard);
+            out.put("appliedCard", applyCard(session, actor, drawn));
 
             // ✅ prize card might have finished the game
-            if (game.getStatus() == Game.Status.FINISHED) {
-                out.put("state", getGameState(gameId).getBody());
+            if (session.isFinished()) {
+                out.put("state", GameStateMapper.state(session));
                 return ResponseEntity.ok(out);
             }
         }
 
-        if (game.getStatus() == Game.Status.FINISHED) {
-            out.put("state", getGameState(gameId).getBody());
-            return ResponseEntity.ok(out);
-        }
+        // ✅ Advance turn, skip blocked players, next question + reset timer
+        session.advanceTurn(nowMs());
 
-        // ✅ Advance turn then skip blocked players
-        advanceTurnToNextPlayer(game);
-        advanceTurnSkippingBlocked(game);
-
-        // next question + reset timer
-        game.setCurrentQuestionId(pickNextQuestionId(game, game.getCurrentQuestionId()));
-        game.setTurnEndsAt(computeTurnEndsAt(game));
-        gameRepository.save(game);
-
-        out.put("state", getGameState(gameId).getBody());
+        out.put("state", GameStateMapper.state(session));
         return ResponseEntity.ok(out);
     }
 
     // =========================
     // ✅ TIMEOUT (advance turn)
+    // Not needed by the board anymore (server timer advances turns);
+    // kept so older clients keep working.
     // =========================
-    @Transactional
     @PostMapping("/{gameId}/timeout")
     public ResponseEntity<?> timeout(@PathVariable Long gameId,
                                      @RequestBody TimeoutRequest req) {
 
-        Game game = requireGame(gameId);
-
-        if (game.getStatus() == Game.Status.FINISHED) {
-            return ResponseEntity.badRequest().body("Game already finished");
-        }
+        GameSession session = requireSession(gameId);
 
-        if (game.getStatus() != Game.Status.ACTIVE) {
-            return ResponseEntity.badRequest().body("Game is not ACTIVE");
-        }
-
-        // optional safety: only active player can timeout
-        if (req != null && req.getUserId() != null) {
-            Long userId = req.getUserId();
-            if (!isUserInGame(gameId, userId)) {
-                return ResponseEntity.status(403).body("User is not in this game");
+        return sessions.update(session, live -> {
+            if (live.isFinished()) {
+                return ResponseEntity.badRequest().body("Game already finished");
             }
-            int userSlot = slotOfUser(gameId, userId);
-            Integer activeSlot = game.getCurrentTurnSlot();
-            if (activeSlot == null) activeSlot = 1;
 
-            if (userSlot != activeSlot) {
-                return ResponseEntity.status(409).body("Only active player can timeout");
+            if (live.getStatus() != Game.Status.ACTIVE) {
+                return ResponseEntity.badRequest().body("Game is not ACTIVE");
             }
-        }
-
-        // advance + skip blocked players
-        advanceTurnToNextPlayer(game);
-        advanceTurnSkippingBlocked(game);
 
-        game.setCurrentQuestionId(pickNextQuestionId(game, game.getCurrentQuestionId()));
-        game.setTurnEndsAt(computeTurnEndsAt(game));
-        gameRepository.save(game);
+            // optional safety: only active player can timeout
+            if (req != null && req.getUserId() != null) {
+                int userSlot = live.slotOfUser(req.getUserId());
+                if (userSlot <= 0) {
+                    return ResponseEntity.status(403).body("User is not in this game");
+                }
+                if (userSlot != live.getCurrentTurnSlot()) {
+                    return ResponseEntity.status(409).body("Only active player can timeout");
+                }
+            }
 
-        return getGameState(gameId);
+            // advance + skip blocked players
+            live.advanceTurn(nowMs());
+            return ResponseEntity.ok(GameStateMapper.state(live));
+        });
     }
 
     // =========================
@@ -885,14 +794,16 @@ public class GameController {
 
     @PostMapping("/{gameId}/finish")
     public ResponseEntity<?> finishGame(@PathVariable Long gameId) {
-        return gameRepository.findById(gameId)
-                .map(game -> {
-                    game.setStatus(Game.Status.FINISHED);
-                    game.setTurnEndsAt(null);
-                    gameRepository.save(game);
-                    return ResponseEntity.ok().build();
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        GameSession session = sessions.find(gameId);
+        if (session == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        sessions.update(session, live -> {
+            live.finish();
+            return null;
+        });
+        return ResponseEntity.ok().build();
     }
 
     // =========================
@@ -909,8 +820,18 @@ public class GameController {
 
         gameRepository.deleteGameQuestions(gameId);
         playerStatusRepository.deleteByGameId(gameId);
+        chatHistory.delete(gameId);
         gameRepository.deleteById(gameId);
 
+        afterCommit(() -> {
+            sessions.evict(gameId);
+            eventStream.close(gameId);
+            longPoll.close(gameId);
+            snapshots.forget(gameId);
+            lobby.deleted(gameId);
+            chatHistory.forget(gameId);
+        });
+
         return ResponseEntity.ok("Room deleted: " + gameId);
     }
 
@@ -929,9 +850,19 @@ public class GameController {
             gameRepository.deleteGameQuestions(gameId);
             playerStatusRepository.deleteByGameId(gameId);
         }
+        chatHistory.deleteAll();
 
         gameRepository.deleteAll();
 
+        afterCommit(() -> {
+            sessions.evictAll();
+            eventStream.closeAll();
+            longPoll.closeAll();
+            snapshots.forgetAll();
+            lobby.clear();
+            chatHistory.forgetAll();
+        });
+
         return ResponseEntity.ok("All rooms deleted successfully");
     }
 }
@@ -0,0 +1,76 @@
+package com.Huseyin.boardGame.controller;
+
+import com.Huseyin.boardGame.image.ImageServer;
+import com.Huseyin.boardGame.image.ImageStore;
+import com.Huseyin.boardGame.image.ImageVariants;
+import com.Huseyin.boardGame.model.ImageVariant;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+
+    private final ImageServer imageServer;
+    private final ImageStore imageStore;
+    private final ImageVariants variants;
+
+    public ImageController(ImageServer imageServer, ImageStore imageStore, ImageVariants variants) {
+        this.imageServer = imageServer;
+        this.imageStore = imageStore;
+        this.variants = variants;
+    }
+
+    // GET /api/images/{sha256}[?variant=thumb|card|full]
+    // ✅ content-addressed: cached forever by browsers / proxies.
+    // A variant not rendered yet falls back to the original, revalidated,
+    // so the rendered file replaces it on a later load.
+    @GetMapping("/{hash}")
+    public ResponseEntity<Resource> getImage(@PathVariable String hash,
+                                             @RequestParam(value = "variant", required = false) String variant,
+                                             HttpServletRequest request) {
+        ImageVariants.Variant size;
+        try {
+            size = ImageVariants.Variant.parse(variant);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (size == null || !imageStore.exists(hash)) {
+            return imageServer.serve(hash, null, ImageServer.IMMUTABLE, request);
+        }
+
+        String variantHash = variants.resolve(hash, size);
+        return (variantHash != null)
+                ? imageServer.serve(variantHash, null, ImageServer.IMMUTABLE, request)
+                : imageServer.serve(hash, null, ImageServer.REVALIDATE, request);
+    }
+
+    // GET /api/images/{sha256}/variants
+    // ✅ rendered variants with their pixel and byte sizes
+    @GetMapping("/{hash}/variants")
+    public ResponseEntity<?> getVariants(@PathVariable String hash) {
+        if (!imageStore.exists(hash)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (ImageVariant v : variants.variantsOf(hash)) {
+            Map<String, Object> dto = new HashMap<>();
+            dto.put("variant", v.getVariant());
+            dto.put("hash", v.getImageHash());
+            dto.put("width", v.getWidth());
+            dto.put("height", v.getHeight());
+            dto.put("size", v.getSize());
+            out.add(dto);
+        }
+        return ResponseEntity.ok(out);
+    }
+}
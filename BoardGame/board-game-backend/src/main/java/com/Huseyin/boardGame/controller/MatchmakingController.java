@@ -0,0 +1,40 @@
+package com.Huseyin.boardGame.controller;
+
+import com.Huseyin.boardGame.game.Matchmaker;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/matchmaking")
+public class MatchmakingController {
+
+    private final Matchmaker matchmaker;
+
+    public MatchmakingController(Matchmaker matchmaker) {
+        this.matchmaker = matchmaker;
+    }
+
+    // POST /api/matchmaking/enqueue?userId=5
+    // ✅ answers right away; the match arrives on /topic/matchmaking/{userId}
+    @PostMapping("/enqueue")
+    public ResponseEntity<?> enqueue(@RequestParam Long userId) {
+        return ResponseEntity.accepted().body(matchmaker.enqueue(userId).toDto());
+    }
+
+    // GET /api/matchmaking/status?userId=5 (fallback when not subscribed)
+    @GetMapping("/status")
+    public ResponseEntity<?> status(@RequestParam Long userId) {
+        Matchmaker.Ticket t = matchmaker.status(userId);
+        if (t == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(t.toDto());
+    }
+
+    // POST /api/matchmaking/cancel?userId=5
+    @PostMapping("/cancel")
+    public ResponseEntity<?> cancel(@RequestParam Long userId) {
+        Matchmaker.Ticket t = matchmaker.cancel(userId);
+        if (t == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(t.toDto());
+    }
+}
@@ -0,0 +1,75 @@
+package com.Huseyin.boardGame.controller;
+
+import com.Huseyin.boardGame.chat.ChatModerator;
+import com.Huseyin.boardGame.model.BlockedTerm;
+import com.Huseyin.boardGame.repository.BlockedTermRepository;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/admin/chat/terms")
+public class ModerationController {
+
+    private static final int MAX_TERM_LEN = 100;
+
+    private final BlockedTermRepository termRepository;
+    private final ChatModerator moderator;
+
+    public ModerationController(BlockedTermRepository termRepository, ChatModerator moderator) {
+        this.termRepository = termRepository;
+        this.moderator = moderator;
+    }
+
+    public static class TermsRequest {
+        public List<String> terms;
+    }
+
+    // GET /api/admin/chat/terms
+    @GetMapping
+    public List<BlockedTerm> getTerms() {
+        return termRepository.findAll();
+    }
+
+    // POST /api/admin/chat/terms  { "terms": ["...", "..."] }
+    // ✅ duplicates are skipped; the filter is rebuilt once for the whole list
+    @PostMapping
+    public ResponseEntity<?> addTerms(@RequestBody TermsRequest req) {
+        if (req == null || req.terms == null || req.terms.isEmpty()) {
+            return ResponseEntity.badRequest().body("terms are required");
+        }
+
+        Set<String> fresh = new LinkedHashSet<>();
+        for (String raw : req.terms) {
+            String t = (raw == null ? "" : raw.trim());
+            if (t.isEmpty()) continue;
+            if (t.length() > MAX_TERM_LEN) {
+                return ResponseEntity.badRequest().body("term too long: " + t);
+            }
+            if (!termRepository.existsByTerm(t)) fresh.add(t);
+        }
+
+        List<BlockedTerm> saved = new ArrayList<>();
+        for (String t : fresh) saved.add(new BlockedTerm(t));
+        saved = termRepository.saveAll(saved);
+        moderator.reload();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("added", saved.size());
+        response.put("total", termRepository.count());
+        return ResponseEntity.ok(response);
+    }
+
+    // DELETE /api/admin/chat/terms/{id}
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTerm(@PathVariable Long id) {
+        if (!termRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        termRepository.deleteById(id);
+        moderator.reload();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,11 +1,23 @@
 package com.Huseyin.boardGame.controller;
 
+import com.Huseyin.boardGame.game.GameSessionRegistry;
+import com.Huseyin.boardGame.game.QuestionCatalog;
+import com.Huseyin.boardGame.image.ImageServer;
+import com.Huseyin.boardGame.image.ImageStore;
+import com.Huseyin.boardGame.image.ImageVariants;
 import com.Huseyin.boardGame.model.Question;
+import com.Huseyin.boardGame.model.QuestionLegacyImage;
+import com.Huseyin.boardGame.repository.QuestionLegacyImageRepository;
 import com.Huseyin.boardGame.repository.QuestionRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,15 +27,33 @@ import java.util.Optional;
 public class QuestionController {
 
     private final QuestionRepository questionRepository;
-
-    public QuestionController(QuestionRepository questionRepository) {
+    private final QuestionLegacyImageRepository legacyImages;
+    private final QuestionCatalog catalog;
+    private final GameSessionRegistry sessions;
+    private final ImageStore imageStore;
+    private final ImageServer imageServer;
+    private final ImageVariants variants;
+
+    public QuestionController(QuestionRepository questionRepository,
+                              GameSessionRegistry sessions,
+                              ImageStore imageStore,
+                              ImageServer imageServer,
+                              QuestionLegacyImageRepository legacyImages,
+                              ImageVariants variants,
+                              QuestionCatalog catalog) {
         this.questionRepository = questionRepository;
+        this.legacyImages = legacyImages;
+        this.sessions = sessions;
+        this.imageStore = imageStore;
+        this.imageServer = imageServer;
+        this.variants = variants;
+        this.catalog = catalog;
     }
 
-    // === GET ALL QUESTIONS ===
+    // === GET ALL QUESTIONS (projection: no image bytes) ===
     @GetMapping
-    public List<Question> getAllQuestions() {
-        return questionRepository.findAll();
+    public List<QuestionRepository.Summary> getAllQuestions() {
+        return questionRepository.findAllSummaries();
     }
 
     // === GET ONE QUESTION BY ID ===
@@ -38,6 +68,7 @@ public class QuestionController {
     @PostMapping
     public ResponseEntity<Question> createQuestion(@RequestBody Question question) {
         Question saved = questionRepository.save(question);
+        catalog.put(saved);
         return ResponseEntity.ok(saved);
     }
 
@@ -50,7 +81,10 @@ public class QuestionController {
                     existing.setContent(updated.getContent());
                     existing.setCorrectAnswer(updated.getCorrectAnswer());
                     existing.setLevel(updated.getLevel());
+                    existing.setAcceptedAnswers(updated.getAcceptedAnswers());
+                    existing.setAnswerTolerance(updated.getAnswerTolerance());
                     Question saved = questionRepository.save(existing);
+                    published(saved);
                     return ResponseEntity.ok(saved);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -63,12 +97,21 @@ public class QuestionController {
             return ResponseEntity.notFound().build();
         }
         questionRepository.deleteById(id);
+        catalog.remove(id);
+        sessions.questionUpdated(id);
         return ResponseEntity.noContent().build();
     }
 
+    /** Saved change -> new catalog snapshot, then the rooms using the question get a new version. */
+    private void published(Question q) {
+        catalog.put(q);
+        sessions.questionUpdated(q.getId());
+    }
+
     // ==========================================================
-    // ✅ UPLOAD IMAGE (stored in DB)
+    // ✅ UPLOAD IMAGE (content-addressed disk store, see ImageStore)
     // POST /api/questions/{id}/image  form-data: file=<image>
+    // The multipart file is streamed into the store (never held in heap).
     // ==========================================================
     @PostMapping("/{id}/image")
     public ResponseEntity<?> uploadQuestionImage(@PathVariable Long id,
@@ -86,10 +129,13 @@ public class QuestionController {
 
         return questionRepository.findById(id)
                 .map(q -> {
-                    try {
-                        q.setImageData(file.getBytes());
-                        q.setImageContentType(contentType);
+                    try (InputStream in = file.getInputStream()) {
+                        ImageStore.StoredImage img = imageStore.store(in, contentType);
+                        q.setImage(img.hash(), img.contentType(), img.size());
                         questionRepository.save(q);
+                        legacyImages.clear(id);
+                        published(q);
+                        variants.schedule(img.hash());
                         return ResponseEntity.ok("Image uploaded successfully");
                     } catch (Exception e) {
                         return ResponseEntity.status(500).body("Upload failed: " + e.getMessage());
@@ -100,31 +146,61 @@ public class QuestionController {
 
     // ==========================================================
     // ✅ GET IMAGE
-    // GET /api/questions/{id}/image
+    // GET /api/questions/{id}/image[?variant=thumb|card|full]
+    // ETag = image hash, revalidated (the question may get another image);
+    // /api/images/{hash} is the immutable URL.
+    // A variant not rendered yet is answered with the original (see ImageVariants).
     // ==========================================================
 
     @GetMapping("/{id}/image")
-    public ResponseEntity<byte[]> getQuestionImage(@PathVariable Long id) {
+    public ResponseEntity<Resource> getQuestionImage(@PathVariable Long id,
+                                                     @RequestParam(value = "variant", required = false) String variant,
+                                                     HttpServletRequest request) {
+        ImageVariants.Variant size;
+        try {
+            size = ImageVariants.Variant.parse(variant);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        Optional<Question> opt = questionRepository.findById(id);
-        if (opt.isEmpty()) {
+        QuestionCatalog.Entry q = catalog.get(id);
+        if (q == null || !q.hasImage()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
-        Question q = opt.get();
-
-        byte[] data = q.getImageData();
-        if (data == null || data.length == 0) {
+        String hash = (q.imageHash() != null ? q.imageHash() : migrateLegacyImage(id));
+        if (hash == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
-        String type = (q.getImageContentType() != null && !q.getImageContentType().isBlank())
-                ? q.getImageContentType()
-                : MediaType.IMAGE_JPEG_VALUE;
+        String variantHash = (size != null ? variants.resolve(hash, size) : null);
+        if (variantHash != null) {
+            return imageServer.serve(variantHash, null, ImageServer.REVALIDATE, request);
+        }
+        return imageServer.serve(hash, null, ImageServer.REVALIDATE, request);
+    }
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(type))
-                .body(data);
+    /** has_image but no hash: the image is still in the old LONGBLOB, move it to the store once. */
+    private String migrateLegacyImage(Long id) {
+        byte[] data = legacyImages.findById(id).map(QuestionLegacyImage::getImageData).orElse(null);
+        Question q = questionRepository.findById(id).orElse(null);
+        if (q == null) return null;
+
+        try {
+            if (data == null || data.length == 0) {
+                q.setImage(null, null, null); // flag was stale
+            } else {
+                ImageStore.StoredImage img = imageStore.store(new ByteArrayInputStream(data), q.getImageContentType());
+                q.setImage(img.hash(), img.contentType(), img.size());
+                variants.schedule(img.hash());
+            }
+            questionRepository.save(q);
+            legacyImages.clear(id);
+            published(q);
+            return q.getImageHash();
+        } catch (IOException e) {
+            return null;
+        }
     }
 
 
@@ -136,9 +212,11 @@ public class QuestionController {
     public ResponseEntity<?> deleteQuestionImage(@PathVariable Long id) {
         return questionRepository.findById(id)
                 .map(q -> {
-                    q.setImageData(null);
-                    q.setImageContentType(null);
+                    // the file stays: other questions may use the same image
+                    q.setImage(null, null, null);
                     questionRepository.save(q);
+                    legacyImages.clear(id);
+                    published(q);
                     return ResponseEntity.ok("Image removed");
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
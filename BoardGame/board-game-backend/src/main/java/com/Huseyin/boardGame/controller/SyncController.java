@@ -0,0 +1,62 @@
+package com.Huseyin.boardGame.controller;
+
+import com.Huseyin.boardGame.chat.ChatHistory;
+import com.Huseyin.boardGame.game.GameSession;
+import com.Huseyin.boardGame.game.GameSessionRegistry;
+import com.Huseyin.boardGame.game.StateSnapshots;
+import com.Huseyin.boardGame.game.TurnExpiryScheduler;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/games")
+public class SyncController {
+
+    private final GameSessionRegistry sessions;
+    private final ChatHistory chatHistory;
+    private final StateSnapshots snapshots;
+    private final TurnExpiryScheduler turnTimers;
+
+    public SyncController(GameSessionRegistry sessions, ChatHistory chatHistory, StateSnapshots snapshots,
+                          TurnExpiryScheduler turnTimers) {
+        this.sessions = sessions;
+        this.chatHistory = chatHistory;
+        this.snapshots = snapshots;
+        this.turnTimers = turnTimers;
+    }
+
+    // =========================
+    // ✅ ROOM SYNC (one round trip per client tick)
+    // GET /api/games/{gameId}/sync?stateVersion=57&chatAfterId=123
+    // Returns: { gameId, stateVersion, state (null if unchanged), chat: [...] }
+    // State comes from the live session, chat from the game's in-memory ring (no DB).
+    // =========================
+
+    @GetMapping("/{gameId}/sync")
+    public ResponseEntity<?> sync(@PathVariable Long gameId,
+                                  @RequestParam(required = false) Long stateVersion,
+                                  @RequestParam(required = false) Long chatAfterId) {
+
+        GameSession session = sessions.find(gameId);
+        if (session == null) {
+            return ResponseEntity.notFound().build();
+        }
+        turnTimers.clientSeen(gameId);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("gameId", gameId);
+
+        // shared serialize-once snapshot, embedded as raw JSON
+        StateSnapshots.Snapshot snap = snapshots.get(session);
+        response.put("stateVersion", snap.version());
+        boolean changed = stateVersion == null || stateVersion != snap.version();
+        response.put("state", changed ? snap.raw() : null);
+
+        response.put("chat", chatHistory.read(gameId, chatAfterId));
+
+        return ResponseEntity.ok(response);
+    }
+}
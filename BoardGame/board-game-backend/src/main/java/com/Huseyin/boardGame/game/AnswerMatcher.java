@@ -0,0 +1,158 @@
+package com.Huseyin.boardGame.game;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Precompiled answer check of one question.
+ *
+ * Accepted answers (the correct answer plus any alternatives) are normalized once when
+ * the question enters the {@link QuestionCatalog}: case folded (Turkish dotted / dotless
+ * i are the same letter), accents stripped ("Atatürk" = "ataturk"), whitespace trimmed and
+ * collapsed. A given answer is then normalized with the same char table and looked up in a
+ * hash set; no regex, Locale or Normalizer work per request.
+ *
+ * Optionally a question tolerates typos: up to {@code tolerance} edits (insert / delete /
+ * replace / swap of neighbours) against answers of at least {@link #MIN_FUZZY_LENGTH} chars,
+ * so "4" never matches "5".
+ */
+public final class AnswerMatcher {
+
+    public static final int MAX_TOLERANCE = 2;
+    static final int MIN_FUZZY_LENGTH = 4;
+
+    public static final AnswerMatcher NONE = new AnswerMatcher(Set.of(), new String[0], 0);
+
+    private static final char[] FOLD = new char[Character.MAX_VALUE + 1];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            char lower = Character.toLowerCase((char) c);
+            // base letter of precomposed chars: "ü" = "u" + U+0308 -> 'u'
+            String nfd = Normalizer.normalize(String.valueOf(lower), Normalizer.Form.NFD);
+            FOLD[c] = (nfd.length() > 1 && onlyMarksAfterBase(nfd)) ? nfd.charAt(0) : lower;
+            if (Character.getType(c) == Character.NON_SPACING_MARK) FOLD[c] = 0; // dropped
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) FOLD[c] = ' ';
+        }
+        FOLD['İ'] = 'i'; FOLD['I'] = 'i'; FOLD['ı'] = 'i';
+    }
+
+    private static boolean onlyMarksAfterBase(String nfd) {
+        for (int i = 1; i < nfd.length(); i++) {
+            if (Character.getType(nfd.charAt(i)) != Character.NON_SPACING_MARK) return false; // e.g. Hangul jamo
+        }
+        return true;
+    }
+
+    private final Set<String> exact;  // normalized accepted answers
+    private final String[] fuzzy;     // the ones long enough for the typo check
+    private final int tolerance;
+
+    private AnswerMatcher(Set<String> exact, String[] fuzzy, int tolerance) {
+        this.exact = exact;
+        this.fuzzy = fuzzy;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * @param correctAnswer the question's answer
+     * @param alternatives  other accepted answers, one per line (may be null)
+     * @param tolerance     typos allowed, clamped to 0..{@link #MAX_TOLERANCE}
+     */
+    public static AnswerMatcher compile(String correctAnswer, String alternatives, int tolerance) {
+        Set<String> accepted = new HashSet<>();
+        add(accepted, correctAnswer);
+        if (alternatives != null) {
+            for (String line : alternatives.split("\\R")) add(accepted, line);
+        }
+        if (accepted.isEmpty()) return NONE;
+
+        int t = Math.max(0, Math.min(MAX_TOLERANCE, tolerance));
+        String[] fuzzy = (t == 0)
+                ? new String[0]
+                : accepted.stream().filter(a -> a.length() >= MIN_FUZZY_LENGTH).toArray(String[]::new);
+        return new AnswerMatcher(Set.copyOf(accepted), fuzzy, t);
+    }
+
+    private static void add(Set<String> accepted, String answer) {
+        String n = normalize(answer);
+        if (!n.isEmpty()) accepted.add(n);
+    }
+
+    public boolean matches(String given) {
+        String g = normalize(given);
+        if (g.isEmpty()) return false;
+        if (exact.contains(g)) return true;
+
+        for (String a : fuzzy) {
+            if (Math.abs(a.length() - g.length()) <= tolerance && withinEdits(a, g, tolerance)) return true;
+        }
+        return false;
+    }
+
+    /** Accepted answers in normalized form. */
+    public Set<String> accepted() {
+        return exact;
+    }
+
+    public int tolerance() {
+        return tolerance;
+    }
+
+    /** Folded, accent-free, trimmed, single-spaced. */
+    public static String normalize(String s) {
+        if (s == null) return "";
+        char[] out = new char[s.length()];
+        int n = 0;
+        boolean space = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = FOLD[s.charAt(i)];
+            if (c == 0) continue;
+            if (c == ' ') {
+                space = (n > 0);
+                continue;
+            }
+            if (space) {
+                out[n++] = ' ';
+                space = false;
+            }
+            out[n++] = c;
+        }
+        return new String(out, 0, n);
+    }
+
+    /**
+     * Optimal string alignment distance of a and b is <= k (adjacent swaps count as one edit).
+     * Only the diagonal band |i - j| <= k is computed; stops as soon as a row exceeds k.
+     */
+    static boolean withinEdits(String a, String b, int k) {
+        int n = a.length(), m = b.length();
+        if (Math.abs(n - m) > k) return false;
+
+        final int inf = k + 1;
+        int[] prev2 = new int[m + 1];
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = (j <= k ? j : inf);
+
+        for (int i = 1; i <= n; i++) {
+            Arrays.fill(cur, inf);
+            if (i <= k) cur[0] = i;
+            int from = Math.max(1, i - k), to = Math.min(m, i + k);
+            int rowMin = cur[0];
+            for (int j = from; j <= to; j++) {
+                int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
+                int d = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, prev2[j - 2] + 1);
+                }
+                cur[j] = Math.min(d, inf);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > k) return false;
+
+            int[] t = prev2; prev2 = prev; prev = cur; cur = t;
+        }
+        return prev[m] <= k;
+    }
+}
@@ -0,0 +1,147 @@
+package com.Huseyin.boardGame.game;
+
+import com.Huseyin.boardGame.config.SqlStatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Single writer per game (actor style).
+ *
+ * Every command for a game is put into that game's mailbox and executed by one
+ * virtual thread at a time, so commands of the same game never overlap and need no
+ * locks, while different games run in parallel. The drainer thread only exists while
+ * the mailbox has work.
+ *
+ * Metrics: game.commands.enqueued, game.commands.queue.depth, game.commands.latency
+ * (enqueue to completion), game.commands.sql (SQL statements per command).
+ */
+@Component
+public class GameCommandExecutor {
+
+    private static final ThreadLocal<Long> CURRENT_GAME = new ThreadLocal<>();
+
+    private static final class Mailbox {
+        final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean draining = new AtomicBoolean(false);
+        volatile boolean forgotten; // removed from the map once drained
+    }
+
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final Counter enqueued;
+    private final Timer latency;
+    private final DistributionSummary sqlPerCommand;
+
+    public GameCommandExecutor(MeterRegistry meters) {
+        this.enqueued = Counter.builder("game.commands.enqueued")
+                .description("Commands submitted to per-game mailboxes")
+                .register(meters);
+        this.latency = Timer.builder("game.commands.latency")
+                .description("Time from enqueue to completion of a game command")
+                .publishPercentiles(0.5, 0.99)
+                .register(meters);
+        this.sqlPerCommand = DistributionSummary.builder("game.commands.sql")
+                .description("SQL statements executed by one game command")
+                .publishPercentiles(0.5, 0.99)
+                .register(meters);
+        Gauge.builder("game.commands.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Commands waiting in all mailboxes")
+                .register(meters);
+        Gauge.builder("game.commands.mailboxes", mailboxes, Map::size)
+                .register(meters);
+    }
+
+    /** Queue a command for a game. */
+    public <T> CompletableFuture<T> submit(Long gameId, Supplier<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+
+        Mailbox box = mailboxes.computeIfAbsent(gameId, id -> new Mailbox());
+        box.queue.add(() -> {
+            long sqlBefore = SqlStatementCounter.current();
+            try {
+                future.complete(command.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                latency.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                sqlPerCommand.record(SqlStatementCounter.current() - sqlBefore);
+            }
+        });
+        queueDepth.incrementAndGet();
+        enqueued.increment();
+
+        if (box.draining.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("game-" + gameId).start(() -> drain(gameId, box));
+        }
+        return future;
+    }
+
+    /**
+     * Run a command on the game's thread and wait for its result.
+     * Called from the game's own thread (e.g. an event listener), it runs inline.
+     */
+    public <T> T call(Long gameId, Supplier<T> command) {
+        if (gameId.equals(CURRENT_GAME.get())) {
+            return command.get();
+        }
+        try {
+            return submit(gameId, command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    /**
+     * Game deleted or no longer cached: drop its mailbox. Queued commands still run; a
+     * mailbox that is busy (also when called from its own thread) is dropped once drained.
+     */
+    public void forget(Long gameId) {
+        Mailbox box = mailboxes.get(gameId);
+        if (box == null) return;
+        box.forgotten = true;
+        if (box.queue.isEmpty() && !box.draining.get()) {
+            mailboxes.remove(gameId, box);
+        }
+    }
+
+    private void drain(Long gameId, Mailbox box) {
+        CURRENT_GAME.set(gameId);
+        try {
+            while (true) {
+                Runnable task;
+                while ((task = box.queue.poll()) != null) {
+                    queueDepth.decrementAndGet();
+                    task.run();
+                }
+
+                box.draining.set(false);
+                // a producer may have enqueued after the last poll but before the flag was cleared
+                if (box.queue.isEmpty() || !box.draining.compareAndSet(false, true)) {
+                    if (box.forgotten && box.queue.isEmpty()) mailboxes.remove(gameId, box);
+                    return;
+                }
+            }
+        } finally {
+            CURRENT_GAME.remove();
+        }
+    }
+}
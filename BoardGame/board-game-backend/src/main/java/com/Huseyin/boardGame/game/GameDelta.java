@@ -0,0 +1,21 @@
+package com.Huseyin.boardGame.game;
+
+import java.util.Map;
+
+/**
+ * Small typed change of a game, streamed to thin clients (SSE) instead of the full state map.
+ * Sequence numbers are assigned by {@link GameEventStream}.
+ */
+public record GameDelta(Type type, Map<String, Object> data) {
+
+    public enum Type {
+        TURN_ADVANCED,   // { activeSlot, turnEndsAt, question? }
+        PLAYER_MOVED,    // { userId, position }
+        CARD_APPLIED,    // { userId, code, title, icon, targetUserId? }
+        PLAYER_JOINED,   // { userId, username, slot }
+        PLAYER_LEFT,     // { userId }
+        GAME_FINISHED,   // { winnerUserId, winnerUsername, finishedAt }
+        CHAT,            // { id, userId, username, text, createdAt }
+        RESYNC           // replay buffer no longer covers Last-Event-ID: reload /state
+    }
+}
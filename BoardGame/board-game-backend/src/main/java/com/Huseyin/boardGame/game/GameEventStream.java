@@ -0,0 +1,207 @@
+package com.Huseyin.boardGame.game;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events hub: one channel per game with a monotonically increasing
+ * sequence number and a short replay buffer, so a reconnecting client can send
+ * Last-Event-ID and continue where it stopped.
+ *
+ * Publishing runs on the game's command thread and never writes to a socket: each
+ * subscriber has a bounded queue, drained in order by the "sse-sender" pool. A client
+ * whose queue overflows has fallen behind and is completed; it reconnects with
+ * Last-Event-ID and gets the replay (or RESYNC).
+ */
+@Component
+public class GameEventStream {
+
+    private static final int REPLAY_SIZE = 256;
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int SUBSCRIBER_QUEUE = REPLAY_SIZE + 64; // a full replay always fits
+    private static final int SENDERS = 4;
+
+    public record Event(long seq, GameDelta delta) {}
+
+    private static class Channel {
+        private final Event[] ring = new Event[REPLAY_SIZE];
+        private long lastSeq = 0;
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+        /** Oldest seq still in the ring. */
+        long firstSeq() {
+            return Math.max(1, lastSeq - REPLAY_SIZE + 1);
+        }
+
+        Event at(long seq) {
+            return ring[(int) (seq % REPLAY_SIZE)];
+        }
+    }
+
+    /** One SSE client: events queued by publish, written by a sender thread, in order. */
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final Channel channel;
+        private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(SUBSCRIBER_QUEUE);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Channel channel) {
+            this.emitter = emitter;
+            this.channel = channel;
+        }
+
+        /** False if the client fell behind (it is then completed and dropped). */
+        boolean offer(Event e) {
+            if (closed) return false;
+            if (!queue.offer(e)) {
+                close();
+                emitter.complete();
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) senders.execute(this::drain);
+            return true;
+        }
+
+        private void drain() {
+            try {
+                Event e;
+                while (!closed && (e = queue.poll()) != null) {
+                    if (!send(emitter, e)) close();
+                }
+            } finally {
+                draining.set(false);
+                // an event offered after the last poll but before the flag was cleared
+                if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) senders.execute(this::drain);
+            }
+        }
+
+        void close() {
+            closed = true;
+            queue.clear();
+            channel.subscribers.remove(this);
+        }
+    }
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    private final AtomicInteger senderCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newFixedThreadPool(SENDERS, r -> {
+        Thread t = new Thread(r, "sse-sender-" + senderCount.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    @PreDestroy
+    void stop() {
+        senders.shutdownNow();
+    }
+
+    private Channel channel(Long gameId) {
+        return channels.computeIfAbsent(gameId, id -> new Channel());
+    }
+
+    // =========================
+    // Publish
+    // =========================
+
+    @EventListener
+    public void onStateChanged(GameStateChangedEvent event) {
+        for (GameDelta d : event.deltas()) {
+            publish(event.gameId(), d);
+        }
+    }
+
+    public void publish(Long gameId, GameDelta delta) {
+        Channel ch = channel(gameId);
+        synchronized (ch) {
+            Event e = new Event(++ch.lastSeq, delta);
+            ch.ring[(int) (e.seq() % REPLAY_SIZE)] = e;
+
+            // queued under the channel lock so every client sees seq order; sent off this thread
+            for (Subscriber sub : ch.subscribers) sub.offer(e);
+        }
+    }
+
+    // =========================
+    // Subscribe
+    // =========================
+
+    /**
+     * Open a stream for a game. If {@code lastEventId} is given, buffered events after it
+     * are replayed first; if the buffer can't cover it, a RESYNC event tells the client to reload /state.
+     */
+    public SseEmitter subscribe(Long gameId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Channel ch = channel(gameId);
+        Subscriber sub = new Subscriber(emitter, ch);
+
+        emitter.onCompletion(sub::close);
+        emitter.onTimeout(sub::close);
+        emitter.onError(err -> sub.close());
+
+        synchronized (ch) {
+            if (lastEventId != null && lastEventId != ch.lastSeq) {
+                // too old for the buffer, or from before a server restart
+                if (lastEventId + 1 < ch.firstSeq() || lastEventId > ch.lastSeq) {
+                    sub.offer(new Event(ch.lastSeq, new GameDelta(GameDelta.Type.RESYNC, Map.of())));
+                } else {
+                    for (long seq = lastEventId + 1; seq <= ch.lastSeq; seq++) sub.offer(ch.at(seq));
+                }
+            }
+            ch.subscribers.add(sub);
+        }
+        return emitter;
+    }
+
+    /** Game deleted: complete all streams and drop the buffer. */
+    public void close(Long gameId) {
+        Channel ch = channels.remove(gameId);
+        if (ch == null) return;
+        synchronized (ch) {
+            for (Subscriber sub : ch.subscribers) {
+                sub.close();
+                sub.emitter.complete();
+            }
+            ch.subscribers.clear();
+        }
+    }
+
+    /** Finished game left the session cache: its replay ring goes (late clients get RESYNC). */
+    @EventListener
+    public void onSessionDropped(GameSessionDroppedEvent event) {
+        close(event.gameId());
+    }
+
+    public void closeAll() {
+        for (Long gameId : List.copyOf(channels.keySet())) close(gameId);
+    }
+
+    private boolean send(SseEmitter emitter, Event e) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(e.seq()))
+                    .name(e.delta().type().name())
+                    .data(e.delta().data(), MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            emitter.completeWithError(ex);
+            return false;
+        }
+    }
+}
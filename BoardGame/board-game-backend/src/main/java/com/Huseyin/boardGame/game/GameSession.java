@@ -0,0 +1,578 @@
+package com.Huseyin.boardGame.game;
+
+import com.Huseyin.boardGame.model.Game;
+import com.Huseyin.boardGame.model.PlayerGameStatus;
+import com.Huseyin.boardGame.model.User;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live, in-memory state of one game.
+ *
+ * The session is the authoritative copy while it is loaded in {@link GameSessionRegistry}:
+ * turn slot, question pointer, timer, winner and every seat (position / blocked / shield).
+ * Changes are marked dirty and written back to "games" / "player_game_status" by
+ * {@link GameSessionWriter}.
+ *
+ * Every change bumps {@link #getVersion()}, so callers can tell whether a command changed anything.
+ *
+ * Not thread-safe: only the game's command thread touches it (see {@link GameCommandExecutor}).
+ */
+public class GameSession {
+
+    public static final int MAX_SEATS = 4;
+
+    // =========================
+    // Seat (one PlayerGameStatus row)
+    // =========================
+
+    public class Seat {
+        private final Long statusId;
+        private final Long userId;
+        private final String username;
+
+        private int position;
+        private boolean blocked;
+        private boolean hasShield;
+        private int questionMultiplier;
+
+        private boolean dirty;
+
+        Seat(PlayerGameStatus st) {
+            User u = st.getPlayer();
+            this.statusId = st.getId();
+            this.userId = (u != null ? u.getId() : null);
+            this.username = (u != null ? u.getUsername() : null);
+            this.position = st.getPosition();
+            this.blocked = st.isBlocked();
+            this.hasShield = st.isHasShield();
+            this.questionMultiplier = st.getQuestionMultiplier();
+        }
+
+        public Long getStatusId() { return statusId; }
+        public Long getUserId() { return userId; }
+        public String getUsername() { return username; }
+        public int getPosition() { return position; }
+        public boolean isBlocked() { return blocked; }
+        public boolean isHasShield() { return hasShield; }
+        public int getQuestionMultiplier() { return questionMultiplier; }
+
+        public void setBlocked(boolean blocked) {
+            this.blocked = blocked;
+            changed();
+        }
+
+        public void setHasShield(boolean hasShield) {
+            this.hasShield = hasShield;
+            changed();
+        }
+
+        private void changed() {
+            this.dirty = true;
+            version++;
+        }
+
+        /** Same exact landing rule as {@link PlayerGameStatus#moveByExact(int)}. */
+        public void moveByExact(int delta) {
+            int target = this.position + delta;
+
+            if (target < 0) {
+                this.position = 0;
+            } else if (target <= PlayerGameStatus.LAST_INDEX) {
+                this.position = target;
+            }
+            // else overshoot => NO MOVE
+            changed();
+        }
+
+        public boolean isAtFinish() {
+            return this.position == PlayerGameStatus.LAST_INDEX;
+        }
+    }
+
+    // =========================
+    // Write-back snapshot
+    // =========================
+
+    public record SeatRow(Long statusId, int position, boolean blocked, boolean hasShield, int questionMultiplier) {}
+
+    public record PendingWrite(Long gameId,
+                               Game.Status status,
+                               int currentTurnSlot,
+                               Long currentQuestionId,
+                               Long turnEndsAt,
+                               Long winnerUserId,
+                               String winnerUsername,
+                               Long finishedAt,
+                               List<SeatRow> seats) {}
+
+    // =========================
+    // State
+    // =========================
+
+    private final Long gameId;
+
+    private String name;
+    private Game.Status status;
+    private Integer timeLimitSeconds;
+    private int currentTurnSlot;
+    private Long currentQuestionId;
+    private Long turnEndsAt;
+    private Long winnerUserId;
+    private String winnerUsername;
+    private Long finishedAt;
+
+    private volatile Roster roster = Roster.EMPTY; // replaced whole on reload, read by join fast path
+    private List<Seat> seats = new ArrayList<>();
+    private final QuestionCatalog catalog; // question records live there; the session only keeps ids
+    private QuestionRing questionRing = QuestionRing.EMPTY;
+    private List<Long> questionIds = List.of();
+
+    private boolean gameDirty;
+    private volatile long version; // single writer (command thread), read by ETag checks
+
+    /**
+     * Seat accounting for joins, packed as (confirmed << 8) | pending and changed by CAS only,
+     * so request threads can reserve or reject a seat before a join is queued.
+     * confirmed = seats in the roster, pending = reservations whose insert hasn't run yet.
+     */
+    private final AtomicInteger seatState = new AtomicInteger();
+
+    /** Distinguishes session instances (reload after evict / restart) in ETags. */
+    private static final AtomicLong EPOCHS = new AtomicLong(System.currentTimeMillis());
+    private final long epoch = EPOCHS.incrementAndGet();
+
+    /** Deltas the rules can't derive from a diff (e.g. which card was drawn). */
+    private final List<GameDelta> notedDeltas = new ArrayList<>();
+
+    GameSession(Long gameId, QuestionCatalog catalog) {
+        this.gameId = gameId;
+        this.catalog = catalog;
+    }
+
+    GameSession(Long gameId) { // no question bank (tests)
+        this(gameId, new QuestionCatalog(null));
+    }
+
+    /**
+     * (Re)build from DB rows. Statuses must be in join order (id asc) with players fetched.
+     * The room's question ids are only replaced when given (first load, room edit);
+     * join / leave pass null and keep the current question set.
+     */
+    void resetFrom(Game game, List<PlayerGameStatus> statuses, Collection<Long> questionIds) {
+        this.name = game.getName();
+        this.status = game.getStatus();
+        this.timeLimitSeconds = game.getTimeLimitSeconds();
+        this.currentTurnSlot = (game.getCurrentTurnSlot() == null || game.getCurrentTurnSlot() < 1)
+                ? 1
+                : game.getCurrentTurnSlot();
+        this.currentQuestionId = game.getCurrentQuestionId();
+        this.turnEndsAt = game.getTurnEndsAt();
+        this.winnerUserId = game.getWinnerUserId();
+        this.winnerUsername = game.getWinnerUsername();
+        this.finishedAt = game.getFinishedAt();
+
+        List<Seat> loadedSeats = new ArrayList<>(statuses.size());
+        for (PlayerGameStatus st : statuses) loadedSeats.add(new Seat(st));
+        this.seats = loadedSeats;
+        this.roster = Roster.of(statuses);
+        syncConfirmedSeats(roster.size());
+
+        this.gameDirty = false;
+        this.version++;
+
+        if (questionIds != null) loadQuestions(questionIds);
+    }
+
+    private void loadQuestions(Collection<Long> ids) {
+        // only rebuilt when the room's question set actually changed (updateGame)
+        if (!questionRing.sameIdsAs(ids)) {
+            this.questionRing = QuestionRing.of(ids);
+        }
+        List<Long> sorted = new ArrayList<>(new TreeSet<>(ids));
+        this.questionIds = Collections.unmodifiableList(sorted);
+    }
+
+    // =========================
+    // Getters
+    // =========================
+
+    public Long getGameId() { return gameId; }
+    public String getName() { return name; }
+    public Game.Status getStatus() { return status; }
+    public Integer getTimeLimitSeconds() { return timeLimitSeconds; }
+    public int getCurrentTurnSlot() { return currentTurnSlot; }
+    public Long getCurrentQuestionId() { return currentQuestionId; }
+    public Long getTurnEndsAt() { return turnEndsAt; }
+    public Long getWinnerUserId() { return winnerUserId; }
+    public String getWinnerUsername() { return winnerUsername; }
+    public Long getFinishedAt() { return finishedAt; }
+    public long getVersion() { return version; }
+    public long getEpoch() { return epoch; }
+
+    public boolean isFinished() {
+        return status == Game.Status.FINISHED;
+    }
+
+    public Roster getRoster() {
+        return roster;
+    }
+
+    /** Seats in join order: slot = index + 1 */
+    public List<Seat> getSeats() {
+        return Collections.unmodifiableList(seats);
+    }
+
+    public int playerCount() {
+        return seats.size();
+    }
+
+    /** The room's questions (id order) as currently in the catalog. */
+    public List<QuestionCatalog.Entry> getQuestions() {
+        List<QuestionCatalog.Entry> out = new ArrayList<>(questionIds.size());
+        for (Long id : questionIds) {
+            QuestionCatalog.Entry q = catalog.get(id);
+            if (q != null) out.add(q);
+        }
+        return out;
+    }
+
+    /** A question of this room (null if not in the room or deleted from the bank). */
+    public QuestionCatalog.Entry question(Long questionId) {
+        if (questionId == null || !questionRing.contains(questionId)) return null;
+        return catalog.get(questionId);
+    }
+
+    // =========================
+    // Setters (mark dirty)
+    // =========================
+
+    private void changed() {
+        this.gameDirty = true;
+        this.version++;
+    }
+
+    public void setCurrentQuestionId(Long currentQuestionId) {
+        this.currentQuestionId = currentQuestionId;
+        changed();
+    }
+
+    public void setTurnEndsAt(Long turnEndsAt) {
+        this.turnEndsAt = turnEndsAt;
+        changed();
+    }
+
+    public void setCurrentTurnSlot(int slot) {
+        this.currentTurnSlot = slot;
+        changed();
+    }
+
+    // =========================
+    // Slots
+    // =========================
+
+    /** slot = join order (1..n), -1 if not seated */
+    public int slotOfUser(Long userId) {
+        return roster.slotOf(userId);
+    }
+
+    public Seat seatOfUser(Long userId) {
+        int slot = slotOfUser(userId);
+        return slot > 0 ? seats.get(slot - 1) : null;
+    }
+
+    public Seat seatBySlot(int slot) {
+        if (slot < 1 || slot > seats.size()) return null;
+        return seats.get(slot - 1);
+    }
+
+    // =========================
+    // Seat reservation (lock-free, any thread)
+    // =========================
+
+    /** Reserve a seat if confirmed + pending < maxSeats. */
+    public boolean tryReserveSeat(int maxSeats) {
+        while (true) {
+            int s = seatState.get();
+            int confirmed = s >>> 8, pending = s & 0xFF;
+            if (confirmed + pending >= maxSeats || pending == 0xFF) return false;
+            if (seatState.compareAndSet(s, s + 1)) return true;
+        }
+    }
+
+    /** Reserved seat was inserted: pending -> confirmed. Runs inside the join command. */
+    public void confirmSeat() {
+        seatState.updateAndGet(s -> ((s >>> 8) + 1) << 8 | ((s & 0xFF) - 1));
+    }
+
+    /** Reservation not used (already seated, room closed, failure). */
+    public void releaseSeat() {
+        seatState.updateAndGet(s -> (s & 0xFF) > 0 ? s - 1 : s);
+    }
+
+    private void syncConfirmedSeats(int confirmed) {
+        seatState.updateAndGet(s -> confirmed << 8 | (s & 0xFF));
+    }
+
+    // =========================
+    // Questions
+    // =========================
+
+    public QuestionRing getQuestionRing() {
+        return questionRing;
+    }
+
+    public Long pickFirstQuestionId() {
+        return questionRing.firstId();
+    }
+
+    /** deterministic next question by id (O(1), see {@link QuestionRing}) */
+    public Long pickNextQuestionId(Long currentQuestionId) {
+        return questionRing.nextId(currentQuestionId);
+    }
+
+    // =========================
+    // Timer
+    // =========================
+
+    public long computeTurnEndsAt(long nowMs) {
+        int sec = (timeLimitSeconds != null ? timeLimitSeconds : 10);
+        return nowMs + (sec * 1000L);
+    }
+
+    // =========================
+    // Turn handling
+    // =========================
+
+    public void advanceTurnToNextPlayer() {
+        int n = seats.size();
+        if (n <= 0) return;
+
+        int current = (currentTurnSlot < 1) ? 1 : currentTurnSlot;
+        setCurrentTurnSlot((current % n) + 1);
+    }
+
+    public void advanceTurnSkippingBlocked() {
+        int n = seats.size();
+        if (n <= 0) return;
+
+        int slot = (currentTurnSlot < 1) ? 1 : currentTurnSlot;
+
+        for (int tries = 0; tries < n; tries++) {
+            Seat st = seatBySlot(slot);
+            if (st == null) break;
+
+            if (st.isBlocked()) {
+                if (st.isHasShield()) {
+                    st.setHasShield(false);
+                    st.setBlocked(false);
+
+                    setCurrentTurnSlot(slot);
+                    return;
+                } else {
+                    st.setBlocked(false);
+
+                    slot = (slot % n) + 1;
+                    continue;
+                }
+            }
+
+            if (slot != currentTurnSlot) setCurrentTurnSlot(slot);
+            return;
+        }
+
+        setCurrentTurnSlot(1);
+    }
+
+    /** Next player, skip blocked, next question, restart timer. */
+    public void advanceTurn(long nowMs) {
+        advanceTurnToNextPlayer();
+        advanceTurnSkippingBlocked();
+
+        setCurrentQuestionId(pickNextQuestionId(currentQuestionId));
+        setTurnEndsAt(computeTurnEndsAt(nowMs));
+    }
+
+    /** If turn expired, advance automatically (ignore FINISHED games). */
+    public boolean ensureNotExpired(long nowMs) {
+        if (isFinished()) return false;
+
+        if (turnEndsAt != null && nowMs >= turnEndsAt) {
+            advanceTurn(nowMs);
+            return true;
+        }
+        return false;
+    }
+
+    // =========================
+    // Winner / Finish
+    // =========================
+
+    /** If actor is exactly at LAST_INDEX, mark FINISHED and store winner info. */
+    public boolean finishIfWinner(Seat actor, long nowMs) {
+        if (actor == null) return false;
+
+        if (actor.isAtFinish()) {
+            this.status = Game.Status.FINISHED;
+            this.winnerUserId = actor.getUserId();
+            this.winnerUsername = actor.getUsername();
+            this.finishedAt = nowMs;
+            this.turnEndsAt = null; // stop timer
+            changed();
+            return true;
+        }
+        return false;
+    }
+
+    /** Admin finish (no winner). */
+    public void finish() {
+        this.status = Game.Status.FINISHED;
+        this.turnEndsAt = null;
+        changed();
+    }
+
+    // =========================
+    // Question bank changes (admin)
+    // =========================
+
+    /** A question changed in the catalog: new version (ETags) if this room uses it. */
+    void questionUpdated(Long questionId) {
+        if (questionId != null && questionRing.contains(questionId)) {
+            version++; // visible change, nothing to write back
+        }
+    }
+
+    // =========================
+    // Deltas (SSE)
+    // =========================
+
+    /** What clients can see of the session, captured before a command. */
+    public record Probe(int activeSlot, Long questionId, Long turnEndsAt, Game.Status status,
+                        Roster roster, int[] positions) {}
+
+    public Probe probe() {
+        int[] positions = new int[seats.size()];
+        for (int i = 0; i < seats.size(); i++) {
+            positions[i] = seats.get(i).getPosition();
+        }
+        // the roster is immutable, so the reference is the snapshot
+        return new Probe(currentTurnSlot, currentQuestionId, turnEndsAt, status, roster, positions);
+    }
+
+    public void note(GameDelta delta) {
+        notedDeltas.add(delta);
+    }
+
+    /** Deltas between {@code before} and now, plus noted ones. Clears the noted list. */
+    public List<GameDelta> drainDeltas(Probe before) {
+        List<GameDelta> out = new ArrayList<>();
+
+        // roster
+        Roster was = before.roster();
+        for (int slot = 1; slot <= roster.size(); slot++) {
+            Long userId = roster.userId(slot);
+            if (userId != null && !was.contains(userId)) {
+                Map<String, Object> d = new HashMap<>();
+                d.put("userId", userId);
+                d.put("username", roster.username(slot));
+                d.put("slot", slot);
+                out.add(new GameDelta(GameDelta.Type.PLAYER_JOINED, d));
+            }
+        }
+        for (int slot = 1; slot <= was.size(); slot++) {
+            Long userId = was.userId(slot);
+            if (userId != null && !roster.contains(userId)) {
+                Map<String, Object> d = new HashMap<>();
+                d.put("userId", userId);
+                out.add(new GameDelta(GameDelta.Type.PLAYER_LEFT, d));
+            }
+        }
+
+        // cards come before the moves they cause
+        out.addAll(notedDeltas);
+        notedDeltas.clear();
+
+        // positions
+        for (int slot = 1; slot <= was.size(); slot++) {
+            Long userId = was.userId(slot);
+            Seat seat = (userId == null ? null : seatOfUser(userId));
+            if (seat != null && seat.getPosition() != before.positions()[slot - 1]) {
+                Map<String, Object> d = new HashMap<>();
+                d.put("userId", userId);
+                d.put("position", seat.getPosition());
+                out.add(new GameDelta(GameDelta.Type.PLAYER_MOVED, d));
+            }
+        }
+
+        // turn
+        boolean turnChanged = before.activeSlot() != currentTurnSlot
+                || !Objects.equals(before.questionId(), currentQuestionId)
+                || !Objects.equals(before.turnEndsAt(), turnEndsAt);
+        if (turnChanged && !isFinished()) {
+            Map<String, Object> d = new HashMap<>();
+            d.put("activeSlot", currentTurnSlot);
+            d.put("turnEndsAt", turnEndsAt);
+            if (!Objects.equals(before.questionId(), currentQuestionId)) {
+                QuestionCatalog.Entry q = question(currentQuestionId);
+                Map<String, Object> qDto = null;
+                if (q != null) {
+                    qDto = new HashMap<>();
+                    qDto.put("id", q.id());
+                    qDto.put("content", q.content());
+                    qDto.put("hasImage", q.hasImage());
+                    qDto.put("imageHash", q.imageHash());
+                }
+                d.put("question", qDto);
+            }
+            out.add(new GameDelta(GameDelta.Type.TURN_ADVANCED, d));
+        }
+
+        // finish
+        if (before.status() != Game.Status.FINISHED && isFinished()) {
+            Map<String, Object> d = new HashMap<>();
+            d.put("winnerUserId", winnerUserId);
+            d.put("winnerUsername", winnerUsername);
+            d.put("finishedAt", finishedAt);
+            out.add(new GameDelta(GameDelta.Type.GAME_FINISHED, d));
+        }
+
+        return out;
+    }
+
+    // =========================
+    // Write-back
+    // =========================
+
+    boolean isDirty() {
+        if (gameDirty) return true;
+        for (Seat s : seats) {
+            if (s.dirty) return true;
+        }
+        return false;
+    }
+
+    /** Used after a failed write: everything is written again next time. */
+    void markAllDirty() {
+        gameDirty = true;
+        for (Seat s : seats) s.dirty = true;
+    }
+
+    /** Copy dirty state for the writer and clear dirty flags. Null when clean. */
+    PendingWrite drainPendingWrite() {
+        if (!isDirty()) return null;
+
+        List<SeatRow> rows = new ArrayList<>();
+        for (Seat s : seats) {
+            if (s.dirty) {
+                rows.add(new SeatRow(s.statusId, s.position, s.blocked, s.hasShield, s.questionMultiplier));
+                s.dirty = false;
+            }
+        }
+        gameDirty = false;
+
+        return new PendingWrite(gameId, status, currentTurnSlot, currentQuestionId, turnEndsAt,
+                winnerUserId, winnerUsername, finishedAt, rows);
+    }
+}
@@ -0,0 +1,7 @@
+package com.Huseyin.boardGame.game;
+
+/**
+ * Published by {@link GameSessionRegistry} when a finished game leaves its cache, so the
+ * per-game state kept elsewhere (rendered snapshot, event channel) can go too.
+ */
+public record GameSessionDroppedEvent(Long gameId) {}
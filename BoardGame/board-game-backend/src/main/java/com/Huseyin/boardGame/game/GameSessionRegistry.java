@@ -0,0 +1,252 @@
+package com.Huseyin.boardGame.game;
+
+import com.Huseyin.boardGame.model.Game;
+import com.Huseyin.boardGame.model.PlayerGameStatus;
+import com.Huseyin.boardGame.repository.GameRepository;
+import com.Huseyin.boardGame.repository.PlayerGameStatusRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Registry of live {@link GameSession}s.
+ *
+ * - A session is loaded from DB on first access and then served from memory.
+ * - Turn changes (answer / timeout / expiry / cards) go through {@link #update}: they only
+ *   touch the session, the {@link GameSessionWriter} persists them asynchronously.
+ * - Structural changes go through {@link #restructure} (room edit: full reload) or
+ *   {@link #restructureRoster} (join / leave: game row + roster only): pending writes are
+ *   flushed, the DB change runs, and the session is reloaded.
+ * - Whenever the session version moved, a {@link GameStateChangedEvent} is published.
+ * - A game that finishes is written at once and leaves the live map; the last
+ *   {@link #FINISHED_KEPT} finished games read stay cached (LRU) for their result screens.
+ *
+ * All access to a session runs on that game's command thread ({@link GameCommandExecutor}),
+ * including event listeners and the write-back, so a session is never touched concurrently.
+ */
+@Component
+public class GameSessionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(GameSessionRegistry.class);
+
+    static final int FINISHED_KEPT = 256;
+
+    private final GameRepository gameRepository;
+    private final PlayerGameStatusRepository playerStatusRepository;
+    private final GameSessionWriter writer;
+    private final GameCommandExecutor commands;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readTx;
+
+    private final QuestionCatalog catalog;
+
+    private final Map<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Long, GameSession> finished = new LinkedHashMap<>(16, 0.75f, true); // guarded by itself
+
+    public GameSessionRegistry(GameRepository gameRepository,
+                               PlayerGameStatusRepository playerStatusRepository,
+                               GameSessionWriter writer,
+                               GameCommandExecutor commands,
+                               ApplicationEventPublisher events,
+                               PlatformTransactionManager txManager,
+                               QuestionCatalog catalog) {
+        this.gameRepository = gameRepository;
+        this.playerStatusRepository = playerStatusRepository;
+        this.writer = writer;
+        this.commands = commands;
+        this.events = events;
+        this.catalog = catalog;
+        this.tx = new TransactionTemplate(txManager);
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+    }
+
+    /** Live session for a game, loading it once from DB. Null if the game does not exist. */
+    public GameSession find(Long gameId) {
+        GameSession s = sessions.get(gameId);
+        if (s != null) return s;
+        synchronized (finished) {
+            s = finished.get(gameId);
+        }
+        if (s != null) return s;
+
+        GameSession loaded = readTx.execute(status -> {
+            GameSession fresh = new GameSession(gameId, catalog);
+            return reloadInto(fresh, true) ? fresh : null;
+        });
+        if (loaded == null) return null;
+        if (loaded.isFinished()) return keepFinished(loaded);
+
+        GameSession prev = sessions.putIfAbsent(gameId, loaded);
+        return prev != null ? prev : loaded;
+    }
+
+    /** Read-only access to a session (on its command thread). */
+    public <T> T read(GameSession session, Function<GameSession, T> reader) {
+        return commands.call(session.getGameId(), () -> reader.apply(session));
+    }
+
+    /**
+     * Run an in-memory command on a session. If it changed anything the session is
+     * queued for write-back and a {@link GameStateChangedEvent} is published.
+     */
+    public <T> T update(GameSession session, Function<GameSession, T> command) {
+        return commands.call(session.getGameId(), () -> {
+            long before = session.getVersion();
+            boolean wasFinished = session.isFinished();
+            GameSession.Probe probe = session.probe();
+
+            T result = command.apply(session);
+
+            if (session.getVersion() != before) {
+                writer.markDirty(session);
+                publish(session, probe);
+                if (!wasFinished && session.isFinished()) retire(session);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Run a DB change that alters the roster or room settings.
+     * Pending in-memory changes are written first so the change sees current rows,
+     * then the session is rebuilt from DB inside the same transaction.
+     */
+    public <T> T restructure(GameSession session, Supplier<T> dbChange) {
+        return restructure(session, dbChange, true);
+    }
+
+    /**
+     * Like {@link #restructure} for seat changes: only the game row and the roster
+     * (one fetch-joined query) are reloaded, the question set is kept.
+     */
+    public <T> T restructureRoster(GameSession session, Supplier<T> dbChange) {
+        return restructure(session, dbChange, false);
+    }
+
+    private <T> T restructure(GameSession session, Supplier<T> dbChange, boolean withQuestions) {
+        return commands.call(session.getGameId(), () -> {
+            long before = session.getVersion();
+            GameSession.Probe probe = session.probe();
+
+            writer.flush(session);
+            T result = tx.execute(status -> {
+                T r = dbChange.get();
+                if (!reloadInto(session, withQuestions)) {
+                    drop(session.getGameId());
+                }
+                return r;
+            });
+
+            if (session.getVersion() != before) {
+                publish(session, probe);
+            }
+            return result;
+        });
+    }
+
+    private void publish(GameSession session, GameSession.Probe probe) {
+        List<GameDelta> deltas = session.drainDeltas(probe);
+        events.publishEvent(new GameStateChangedEvent(session.getGameId(), session.getVersion(), deltas));
+    }
+
+    /** Game just finished (on its command thread): write it now and move it to the finished cache. */
+    private void retire(GameSession session) {
+        writer.forget(session);
+        try {
+            writer.flush(session);
+        } catch (RuntimeException e) {
+            // flush put it back into the writer's dirty set: retried on the next interval
+            log.error("Final write-back failed for game {}", session.getGameId(), e);
+        }
+        sessions.remove(session.getGameId(), session);
+        keepFinished(session);
+    }
+
+    private GameSession keepFinished(GameSession session) {
+        List<Long> dropped = new ArrayList<>();
+        GameSession kept;
+        synchronized (finished) {
+            GameSession prev = finished.putIfAbsent(session.getGameId(), session);
+            kept = (prev != null ? prev : session);
+            Iterator<Long> eldest = finished.keySet().iterator();
+            while (finished.size() > FINISHED_KEPT) {
+                dropped.add(eldest.next());
+                eldest.remove();
+            }
+        }
+        for (Long gameId : dropped) {
+            commands.forget(gameId);
+            events.publishEvent(new GameSessionDroppedEvent(gameId));
+        }
+        return kept;
+    }
+
+    private GameSession drop(Long gameId) {
+        GameSession s = sessions.remove(gameId);
+        synchronized (finished) {
+            GameSession f = finished.remove(gameId);
+            return (s != null ? s : f);
+        }
+    }
+
+    /**
+     * Game deleted (call after the delete committed). Runs on the game's command thread,
+     * behind any join or write-back already queued for it.
+     */
+    public void evict(Long gameId) {
+        commands.call(gameId, () -> evictNow(gameId));
+        commands.forget(gameId);
+    }
+
+    public void evictAll() {
+        List<Long> gameIds = new ArrayList<>(sessions.keySet());
+        synchronized (finished) {
+            gameIds.addAll(finished.keySet());
+        }
+        CompletableFuture.allOf(gameIds.stream()
+                .map(gameId -> commands.submit(gameId, () -> evictNow(gameId)))
+                .toArray(CompletableFuture[]::new)).join();
+        writer.forgetAll();
+        for (Long gameId : gameIds) commands.forget(gameId);
+    }
+
+    private Void evictNow(Long gameId) {
+        GameSession s = drop(gameId);
+        if (s != null) writer.forget(s);
+        return null;
+    }
+
+    /** Admin edited a question (already in the {@link QuestionCatalog}): bump the sessions that use it. */
+    public void questionUpdated(Long questionId) {
+        for (GameSession s : sessions.values()) {
+            update(s, session -> {
+                session.questionUpdated(questionId);
+                return null;
+            });
+        }
+    }
+
+    private boolean reloadInto(GameSession session, boolean withQuestions) {
+        Game game = gameRepository.findById(session.getGameId()).orElse(null);
+        if (game == null) return false;
+
+        List<PlayerGameStatus> statuses = playerStatusRepository.findRosterByGameId(game.getId());
+        session.resetFrom(game, statuses, withQuestions ? gameRepository.findQuestionIds(game.getId()) : null);
+        return true;
+    }
+}
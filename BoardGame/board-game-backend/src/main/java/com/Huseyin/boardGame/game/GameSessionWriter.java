@@ -0,0 +1,134 @@
+package com.Huseyin.boardGame.game;
+
+import com.Huseyin.boardGame.repository.GameRepository;
+import com.Huseyin.boardGame.repository.PlayerGameStatusRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind for {@link GameSession}: dirty sessions are collected and flushed
+ * to "games" / "player_game_status" every {@link #FLUSH_MS}.
+ * Several changes to the same game inside one interval become one UPDATE per row.
+ *
+ * The flush itself runs as a command on the game's own thread ({@link GameCommandExecutor}),
+ * so it is ordered with every other change of that game and needs no lock.
+ */
+@Component
+public class GameSessionWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(GameSessionWriter.class);
+
+    private static final long FLUSH_MS = 200;
+
+    private final GameRepository gameRepository;
+    private final PlayerGameStatusRepository playerStatusRepository;
+    private final GameCommandExecutor commands;
+    private final TransactionTemplate tx;
+
+    private final Set<GameSession> dirty = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "game-session-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public GameSessionWriter(GameRepository gameRepository,
+                             PlayerGameStatusRepository playerStatusRepository,
+                             GameCommandExecutor commands,
+                             PlatformTransactionManager txManager) {
+        this.gameRepository = gameRepository;
+        this.playerStatusRepository = playerStatusRepository;
+        this.commands = commands;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushAll, FLUSH_MS, FLUSH_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdown();
+        // don't lose the last interval on shutdown
+        CompletableFuture.allOf(flushAll()).join();
+    }
+
+    public void markDirty(GameSession session) {
+        dirty.add(session);
+    }
+
+    /** Session evicted: its pending changes are not written any more. */
+    public void forget(GameSession session) {
+        dirty.remove(session);
+    }
+
+    public void forgetAll() {
+        dirty.clear();
+    }
+
+    CompletableFuture<?>[] flushAll() {
+        return dirty.stream()
+                .filter(dirty::remove)
+                .map(s -> commands.submit(s.getGameId(), () -> {
+                    try {
+                        flush(s);
+                    } catch (RuntimeException e) {
+                        log.error("Write-back failed for game {}", s.getGameId(), e);
+                    }
+                    return null;
+                }))
+                .toArray(CompletableFuture[]::new);
+    }
+
+    /** Write pending changes of one session now. Must run on the game's command thread. */
+    void flush(GameSession session) {
+        GameSession.PendingWrite w = session.drainPendingWrite();
+        if (w == null) return;
+
+        try {
+            tx.executeWithoutResult(status -> write(w));
+        } catch (RuntimeException e) {
+            // keep the change: everything is rewritten on the next interval
+            session.markAllDirty();
+            dirty.add(session);
+            throw e;
+        }
+    }
+
+    private void write(GameSession.PendingWrite w) {
+        gameRepository.updateLiveState(
+                w.gameId(),
+                w.status(),
+                w.currentTurnSlot(),
+                w.currentQuestionId(),
+                w.turnEndsAt(),
+                w.winnerUserId(),
+                w.winnerUsername(),
+                w.finishedAt()
+        );
+
+        for (GameSession.SeatRow row : w.seats()) {
+            playerStatusRepository.updateLiveState(
+                    row.statusId(),
+                    row.position(),
+                    row.blocked(),
+                    row.hasShield(),
+                    row.questionMultiplier()
+            );
+        }
+    }
+}
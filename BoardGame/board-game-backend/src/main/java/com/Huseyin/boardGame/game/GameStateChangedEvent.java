@@ -0,0 +1,11 @@
+package com.Huseyin.boardGame.game;
+
+import java.util.List;
+
+/**
+ * Published by {@link GameSessionRegistry} after a command changed a live game.
+ * Listeners run on the thread that made the change.
+ *
+ * @param deltas what changed, in order (may be empty for changes clients don't see)
+ */
+public record GameStateChangedEvent(Long gameId, long version, List<GameDelta> deltas) {}
@@ -0,0 +1,58 @@
+package com.Huseyin.boardGame.game;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the JSON-shaped state map of a {@link GameSession}
+ * (same shape as GET /api/games/{gameId}/state). Runs on the game's command thread.
+ */
+public final class GameStateMapper {
+
+    private GameStateMapper() {}
+
+    public static Map<String, Object> state(GameSession session) {
+        List<Map<String, Object>> players = new ArrayList<>();
+        List<GameSession.Seat> seats = session.getSeats();
+        for (int i = 0; i < seats.size(); i++) {
+            GameSession.Seat s = seats.get(i);
+            if (s.getUserId() == null) continue;
+
+            Map<String, Object> dto = new HashMap<>();
+            dto.put("slot", i + 1);
+            dto.put("userId", s.getUserId());
+            dto.put("username", s.getUsername());
+            dto.put("position", s.getPosition());
+            players.add(dto);
+        }
+
+        Map<String, Object> qDto = null;
+        QuestionCatalog.Entry q = session.question(session.getCurrentQuestionId());
+        if (q != null) {
+            qDto = new HashMap<>();
+            qDto.put("id", q.id());
+            qDto.put("content", q.content());
+            qDto.put("hasImage", q.hasImage());
+            qDto.put("imageHash", q.imageHash());
+        }
+
+        Map<String, Object> state = new HashMap<>();
+        state.put("gameId", session.getGameId());
+        state.put("stateVersion", session.getVersion());
+        state.put("roomName", session.getName());
+        state.put("status", session.getStatus().name());
+        state.put("serverNow", System.currentTimeMillis()); // render time of this version (snapshots are shared)
+        state.put("turnEndsAt", session.getTurnEndsAt());
+        state.put("activeSlot", session.getCurrentTurnSlot());
+        state.put("question", qDto);
+        state.put("players", players);
+        state.put("timeLimitSeconds", session.getTimeLimitSeconds());
+
+        state.put("winnerUserId", session.getWinnerUserId());
+        state.put("winnerUsername", session.getWinnerUsername());
+        state.put("finishedAt", session.getFinishedAt());
+        return state;
+    }
+}
@@ -0,0 +1,45 @@
+package com.Huseyin.boardGame.game;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Pushes a full state frame to /topic/games/{gameId} whenever a game changes.
+ * Clients subscribed over STOMP (/ws) no longer need to poll /state.
+ * The frame body is the version's shared {@link StateSnapshots} JSON, not a fresh serialization.
+ */
+@Component
+public class GameStatePusher {
+
+    private final GameSessionRegistry sessions;
+    private final StateSnapshots snapshots;
+    private final SimpMessagingTemplate broker;
+
+    public GameStatePusher(GameSessionRegistry sessions, StateSnapshots snapshots, SimpMessagingTemplate broker) {
+        this.sessions = sessions;
+        this.snapshots = snapshots;
+        this.broker = broker;
+    }
+
+    public static String topic(Long gameId) {
+        return "/topic/games/" + gameId;
+    }
+
+    @EventListener
+    public void onStateChanged(GameStateChangedEvent event) {
+        GameSession session = sessions.find(event.gameId());
+        if (session == null) return;
+
+        byte[] body = snapshots.get(session).identity();
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        broker.send(topic(event.gameId()), MessageBuilder.createMessage(body, headers.getMessageHeaders()));
+    }
+}
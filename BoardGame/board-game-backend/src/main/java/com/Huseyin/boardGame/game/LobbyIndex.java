@@ -0,0 +1,156 @@
+package com.Huseyin.boardGame.game;
+
+import com.Huseyin.boardGame.model.Game;
+import com.Huseyin.boardGame.repository.GameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory lobby: every ACTIVE room with its player count, kept up to date
+ * incrementally instead of querying on each /api/games/open.
+ *
+ * - Loaded once at startup (keyset pages of the admin room query).
+ * - Rooms change through {@link GameStateChangedEvent} (join / leave / edit / finish)
+ *   plus create and delete from the controller.
+ * - Joinable rooms (ACTIVE, players < {@link GameSession#MAX_SEATS}) are read in O(open rooms),
+ *   and every change is pushed to /topic/lobby as { op: "open" | "closed", ... }.
+ */
+@Component
+public class LobbyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LobbyIndex.class);
+
+    public static final String TOPIC = "/topic/lobby";
+
+    private static final int LOAD_PAGE = 500;
+
+    public record Room(Long id, String name, int playerCount, Integer timeLimitSeconds) {
+        boolean joinable() {
+            return playerCount < GameSession.MAX_SEATS;
+        }
+
+        Map<String, Object> toDto() {
+            Map<String, Object> dto = new HashMap<>();
+            dto.put("id", id);
+            dto.put("name", name);
+            dto.put("playerCount", playerCount);
+            dto.put("timeLimitSeconds", timeLimitSeconds);
+            return dto;
+        }
+    }
+
+    private final GameRepository gameRepository;
+    private final GameSessionRegistry sessions;
+    private final SimpMessagingTemplate broker;
+
+    /** ACTIVE rooms by id (full ones included, so a leave can reopen them). */
+    private final ConcurrentSkipListMap<Long, Room> active = new ConcurrentSkipListMap<>();
+
+    /** Open-room DTOs, rebuilt lazily after a change. */
+    private volatile List<Map<String, Object>> openView;
+
+    public LobbyIndex(GameRepository gameRepository, GameSessionRegistry sessions, SimpMessagingTemplate broker) {
+        this.gameRepository = gameRepository;
+        this.sessions = sessions;
+        this.broker = broker;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long after = 0;
+        while (true) {
+            List<GameRepository.RoomRow> rows =
+                    gameRepository.findRoomPage(after, Game.Status.ACTIVE, PageRequest.of(0, LOAD_PAGE));
+            for (GameRepository.RoomRow r : rows) {
+                active.putIfAbsent(r.getId(),
+                        new Room(r.getId(), r.getName(), (int) r.getPlayerCount(), r.getTimeLimitSeconds()));
+            }
+            if (rows.size() < LOAD_PAGE) break;
+            after = rows.get(rows.size() - 1).getId();
+        }
+        openView = null;
+        log.info("Lobby loaded: {} active rooms", active.size());
+    }
+
+    /** Joinable rooms, id ascending. */
+    public List<Map<String, Object>> openRooms() {
+        List<Map<String, Object>> view = openView;
+        if (view == null) {
+            List<Map<String, Object>> out = new ArrayList<>();
+            for (Room r : active.values()) {
+                if (r.joinable()) out.add(Collections.unmodifiableMap(r.toDto()));
+            }
+            view = Collections.unmodifiableList(out);
+            openView = view;
+        }
+        return view;
+    }
+
+    // =========================
+    // Changes
+    // =========================
+
+    public void created(Game game) {
+        if (game.getStatus() != Game.Status.ACTIVE) return;
+        upsert(new Room(game.getId(), game.getName(), 0, game.getTimeLimitSeconds()));
+    }
+
+    public void deleted(Long gameId) {
+        remove(gameId);
+    }
+
+    public void clear() {
+        for (Long id : new ArrayList<>(active.keySet())) remove(id);
+    }
+
+    /** Runs on the game's command thread. */
+    @EventListener
+    public void onStateChanged(GameStateChangedEvent event) {
+        GameSession session = sessions.find(event.gameId());
+        if (session == null) {
+            remove(event.gameId());
+            return;
+        }
+
+        Room room = sessions.read(session, live -> live.getStatus() == Game.Status.ACTIVE
+                ? new Room(live.getGameId(), live.getName(), live.playerCount(), live.getTimeLimitSeconds())
+                : null);
+
+        if (room == null) remove(event.gameId());
+        else upsert(room);
+    }
+
+    private void upsert(Room room) {
+        Room prev = active.put(room.id(), room);
+        if (room.equals(prev)) return; // turn changes etc. don't touch the lobby
+
+        openView = null;
+        if (room.joinable()) {
+            push("open", room.toDto());
+        } else if (prev != null && prev.joinable()) {
+            push("closed", Map.of("id", room.id()));
+        }
+    }
+
+    private void remove(Long gameId) {
+        Room prev = active.remove(gameId);
+        if (prev == null) return;
+
+        openView = null;
+        if (prev.joinable()) push("closed", Map.of("id", gameId));
+    }
+
+    private void push(String op, Map<String, Object> payload) {
+        Map<String, Object> msg = new HashMap<>(payload);
+        msg.put("op", op);
+        broker.convertAndSend(TOPIC, msg);
+    }
+}
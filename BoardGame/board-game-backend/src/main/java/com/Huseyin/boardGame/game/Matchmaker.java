@@ -0,0 +1,358 @@
+package com.Huseyin.boardGame.game;
+
+import com.Huseyin.boardGame.model.Game;
+import com.Huseyin.boardGame.model.Question;
+import com.Huseyin.boardGame.model.User;
+import com.Huseyin.boardGame.repository.GameRepository;
+import com.Huseyin.boardGame.repository.QuestionRepository;
+import com.Huseyin.boardGame.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Matchmaking queue: players enqueue, one batcher thread packs them into rooms.
+ *
+ * - enqueue is lock-free (ticket map + queue), no DB access, so it takes thousands per second.
+ * - A batch runs every {@link #BATCH_MS}, or right away once {@link GameSession#MAX_SEATS} are waiting.
+ * - Each batch first fills open rooms (fullest first, so rooms complete instead of
+ *   everyone herding onto the first one), then opens new rooms for the rest.
+ * - Seats of one room are inserted together (one multi-row INSERT) in one command /
+ *   transaction, through the same seat reservation and session reload as a normal join.
+ * - Matched players are told on /topic/matchmaking/{userId}; {@link #status} is the fallback.
+ */
+@Component
+public class Matchmaker {
+
+    private static final Logger log = LoggerFactory.getLogger(Matchmaker.class);
+
+    private static final long BATCH_MS = 200;
+    private static final int ROOM_QUESTIONS = 30;
+    private static final int MIN_ROOM_QUESTIONS = 1; // questions cycle (QuestionRing), one is playable
+    private static final long TICKET_TTL_MS = 5 * 60 * 1000L;
+
+    public enum Status { WAITING, MATCHED, CANCELLED, REJECTED }
+
+    public record Ticket(Long userId, Status status, Long gameId, long updatedAt) {
+        public Map<String, Object> toDto() {
+            Map<String, Object> dto = new HashMap<>();
+            dto.put("userId", userId);
+            dto.put("status", status.name());
+            dto.put("gameId", gameId);
+            dto.put("topic", topic(userId));
+            return dto;
+        }
+    }
+
+    private final GameRepository gameRepository;
+    private final JdbcTemplate jdbc;
+    private final UserRepository userRepository;
+    private final QuestionRepository questionRepository;
+    private final QuestionCatalog catalog;
+    private final GameSessionRegistry sessions;
+    private final LobbyIndex lobby;
+    private final SimpMessagingTemplate broker;
+    private final TransactionTemplate tx;
+
+    private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Queue<Long> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicBoolean batchQueued = new AtomicBoolean(false);
+
+    private final ScheduledExecutorService batcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "matchmaker");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public Matchmaker(GameRepository gameRepository,
+                      JdbcTemplate jdbc,
+                      UserRepository userRepository,
+                      QuestionRepository questionRepository,
+                      QuestionCatalog catalog,
+                      GameSessionRegistry sessions,
+                      LobbyIndex lobby,
+                      SimpMessagingTemplate broker,
+                      PlatformTransactionManager txManager) {
+        this.gameRepository = gameRepository;
+        this.jdbc = jdbc;
+        this.userRepository = userRepository;
+        this.questionRepository = questionRepository;
+        this.catalog = catalog;
+        this.sessions = sessions;
+        this.lobby = lobby;
+        this.broker = broker;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @PostConstruct
+    void start() {
+        batcher.scheduleWithFixedDelay(this::runBatch, BATCH_MS, BATCH_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        batcher.shutdownNow();
+    }
+
+    public static String topic(Long userId) {
+        return "/topic/matchmaking/" + userId;
+    }
+
+    // =========================
+    // Queue (any thread)
+    // =========================
+
+    /** Queue a player. Enqueuing again while waiting is a no-op. */
+    public Ticket enqueue(Long userId) {
+        Ticket fresh = new Ticket(userId, Status.WAITING, null, System.currentTimeMillis());
+        Ticket prev = tickets.get(userId);
+        if (prev != null && prev.status() == Status.WAITING) return prev;
+
+        boolean queued = (prev == null)
+                ? tickets.putIfAbsent(userId, fresh) == null
+                : tickets.replace(userId, prev, fresh);
+        if (!queued) return tickets.get(userId);
+
+        waiting.add(userId);
+        if (waitingCount.incrementAndGet() >= GameSession.MAX_SEATS) wakeBatcher();
+        return fresh;
+    }
+
+    public Ticket cancel(Long userId) {
+        Ticket t = tickets.computeIfPresent(userId, (id, prev) -> prev.status() == Status.WAITING
+                ? new Ticket(id, Status.CANCELLED, null, System.currentTimeMillis())
+                : prev);
+        // drop the queue entry too, so enqueue -> cancel -> enqueue queues the user once
+        if (waiting.remove(userId)) waitingCount.decrementAndGet();
+        return t;
+    }
+
+    public Ticket status(Long userId) {
+        return tickets.get(userId);
+    }
+
+    private void wakeBatcher() {
+        if (batchQueued.compareAndSet(false, true)) {
+            batcher.execute(this::runBatch);
+        }
+    }
+
+    // =========================
+    // Batch (matchmaker thread)
+    // =========================
+
+    private void runBatch() {
+        batchQueued.set(false);
+        List<Long> batch = List.of();
+        try {
+            batch = drainWaiting();
+            if (!batch.isEmpty()) match(batch);
+        } catch (RuntimeException e) {
+            log.error("Matchmaking batch failed", e);
+            // drained players are out of the queue: don't leave their tickets WAITING forever
+            for (Long userId : batch) finish(userId, Status.REJECTED, null);
+        }
+        expireTickets();
+    }
+
+    /** Queued players still WAITING, each once (in queue order). */
+    private List<Long> drainWaiting() {
+        Set<Long> out = new LinkedHashSet<>();
+        Long userId;
+        while ((userId = waiting.poll()) != null) {
+            waitingCount.decrementAndGet();
+            Ticket t = tickets.get(userId);
+            if (t != null && t.status() == Status.WAITING) out.add(userId);
+        }
+        return new ArrayList<>(out);
+    }
+
+    private void match(List<Long> userIds) {
+        // one lookup for the whole batch
+        Map<Long, User> users = new HashMap<>();
+        for (User u : userRepository.findAllById(userIds)) users.put(u.getId(), u);
+
+        Deque<User> pending = new ArrayDeque<>();
+        for (Long id : userIds) {
+            User u = users.get(id);
+            if (u != null) pending.add(u);
+            else finish(id, Status.REJECTED, null);
+        }
+
+        // 1) fill open rooms, fullest first
+        List<Map<String, Object>> open = new ArrayList<>(lobby.openRooms());
+        open.sort(Comparator.comparingInt((Map<String, Object> r) -> ((Number) r.get("playerCount")).intValue()).reversed());
+        for (Map<String, Object> room : open) {
+            if (pending.isEmpty()) break;
+            GameSession session = sessions.find((Long) room.get("id"));
+            if (session != null) seat(session, pending);
+        }
+
+        // 2) new rooms for the rest (a partial room is filled by later batches)
+        if (!pending.isEmpty() && catalog.size() < MIN_ROOM_QUESTIONS) {
+            // no room can be played: tell them now instead of queueing them forever
+            log.warn("Matchmaking: question bank has {} questions, {} players rejected", catalog.size(), pending.size());
+            for (User u : pending) finish(u.getId(), Status.REJECTED, null);
+            return;
+        }
+        while (!pending.isEmpty()) {
+            GameSession session = sessions.find(createRoom().getId());
+            if (session == null || seat(session, pending) == 0) break;
+        }
+
+        // couldn't place them: back to the queue
+        for (User u : pending) {
+            waiting.add(u.getId());
+            waitingCount.incrementAndGet();
+        }
+    }
+
+    private Game createRoom() {
+        List<Long> ids = new ArrayList<>(catalog.ids());
+        Collections.shuffle(ids);
+        List<Long> picked = ids.subList(0, Math.min(ROOM_QUESTIONS, ids.size()));
+
+        return tx.execute(status -> {
+            Game game = new Game("Match " + UUID.randomUUID().toString().substring(0, 6));
+            Set<Question> questions = new HashSet<>();
+            for (Long id : picked) questions.add(questionRepository.getReferenceById(id));
+            game.setQuestions(questions);
+
+            Game saved = gameRepository.save(game);
+            lobby.created(saved);
+            return saved;
+        });
+    }
+
+    /**
+     * Seat as many pending players as the room takes: one command, one multi-row insert.
+     * Returns how many were matched; players the room could not take go back to pending.
+     */
+    private int seat(GameSession session, Deque<User> pending) {
+        List<User> group = new ArrayList<>();
+        while (!pending.isEmpty() && session.tryReserveSeat(GameSession.MAX_SEATS)) {
+            group.add(pending.poll());
+        }
+        if (group.isEmpty()) return 0;
+
+        Long gameId = session.getGameId();
+        Map<Long, Ticket> claimed = new HashMap<>(); // userId -> the WAITING ticket it replaced
+        List<User> matched;
+        try {
+            matched = sessions.restructureRoster(session, () -> insertSeats(session, group, claimed));
+        } catch (RuntimeException e) {
+            // rolled back: the claimed players are WAITING again (runBatch rejects them)
+            claimed.forEach((userId, waitingTicket) -> tickets.computeIfPresent(userId, (id, cur) ->
+                    cur.status() == Status.MATCHED && gameId.equals(cur.gameId()) ? waitingTicket : cur));
+            throw e;
+        }
+
+        for (User u : matched) broker.convertAndSend(topic(u.getId()), tickets.get(u.getId()).toDto());
+        for (int i = group.size() - 1; i >= 0; i--) {
+            User u = group.get(i);
+            if (!matched.contains(u) && isWaiting(u.getId())) pending.addFirst(u);
+        }
+        return matched.size();
+    }
+
+    /** Runs inside restructureRoster: claims each ticket right before its seat row is written. */
+    private List<User> insertSeats(GameSession session, List<User> group, Map<Long, Ticket> claimed) {
+        List<User> out = new ArrayList<>();
+        int confirmed = 0;
+        try {
+            Game game = gameRepository.findById(session.getGameId()).orElse(null);
+            if (game == null || game.getStatus() != Game.Status.ACTIVE) return out;
+
+            Roster roster = session.getRoster();
+            List<Long> rows = new ArrayList<>();
+            for (User u : group) {
+                // cancelled since the drain: not seated
+                Ticket waitingTicket = claim(u.getId(), game.getId());
+                if (waitingTicket == null) continue;
+                claimed.put(u.getId(), waitingTicket);
+                // already seated (joined by hand meanwhile): matched, seat not needed
+                if (!roster.contains(u.getId())) rows.add(u.getId());
+                out.add(u);
+            }
+            insertSeatRows(game.getId(), rows);
+            for (; confirmed < rows.size(); confirmed++) session.confirmSeat();
+
+            // start timer when the room gets its first players (same as joinGame)
+            if (roster.size() == 0 && !rows.isEmpty()) {
+                if (game.getCurrentQuestionId() == null) {
+                    game.setCurrentQuestionId(session.pickFirstQuestionId());
+                }
+                game.setCurrentTurnSlot(1);
+                game.setCurrentTurn(1);
+                int sec = (game.getTimeLimitSeconds() != null ? game.getTimeLimitSeconds() : 10);
+                game.setTurnEndsAt(System.currentTimeMillis() + sec * 1000L);
+                gameRepository.save(game);
+            }
+            return out;
+        } finally {
+            for (int i = confirmed; i < group.size(); i++) session.releaseSeat();
+        }
+    }
+
+    /**
+     * insert into player_game_status (...) values (...), (...), ... over JDBC, in the
+     * surrounding transaction (saveAll would be one INSERT per row: IDENTITY ids disable
+     * Hibernate batching). The session reload reads the rows back.
+     */
+    private void insertSeatRows(Long gameId, List<Long> userIds) {
+        if (userIds.isEmpty()) return;
+        StringBuilder sql = new StringBuilder(128 + userIds.size() * 24)
+                .append("insert into player_game_status ")
+                .append("(game_id, player_id, is_blocked, has_shield, question_multiplier, position) values ");
+        Object[] args = new Object[userIds.size() * 2];
+        int a = 0;
+        for (int i = 0; i < userIds.size(); i++) {
+            sql.append(i == 0 ? "(?,?,false,false,1,0)" : ",(?,?,false,false,1,0)");
+            args[a++] = gameId;
+            args[a++] = userIds.get(i);
+        }
+        jdbc.update(sql.toString(), args);
+    }
+
+    private boolean isWaiting(Long userId) {
+        Ticket t = tickets.get(userId);
+        return t != null && t.status() == Status.WAITING;
+    }
+
+    /** WAITING -> MATCHED (not announced yet); returns the replaced ticket, null if not WAITING. */
+    private Ticket claim(Long userId, Long gameId) {
+        Ticket cur = tickets.get(userId);
+        if (cur == null || cur.status() != Status.WAITING) return null;
+        Ticket matched = new Ticket(userId, Status.MATCHED, gameId, System.currentTimeMillis());
+        return tickets.replace(userId, cur, matched) ? cur : null;
+    }
+
+    /** WAITING -> status, announced. A ticket that changed meanwhile (cancelled) is left alone. */
+    private void finish(Long userId, Status status, Long gameId) {
+        Ticket cur = tickets.get(userId);
+        if (cur == null || cur.status() != Status.WAITING) return;
+        Ticket t = new Ticket(userId, status, gameId, System.currentTimeMillis());
+        if (tickets.replace(userId, cur, t)) broker.convertAndSend(topic(userId), t.toDto());
+    }
+
+    private void expireTickets() {
+        long cutoff = System.currentTimeMillis() - TICKET_TTL_MS;
+        tickets.values().removeIf(t -> t.status() != Status.WAITING && t.updatedAt() < cutoff);
+    }
+}
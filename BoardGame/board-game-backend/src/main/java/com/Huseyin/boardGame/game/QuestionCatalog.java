@@ -0,0 +1,102 @@
+package com.Huseyin.boardGame.game;
+
+import com.Huseyin.boardGame.model.Question;
+import com.Huseyin.boardGame.repository.QuestionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * The question bank, in memory, for the game hot path (state, answers, room question lists).
+ *
+ * Questions are immutable {@link Entry} records in a copy-on-write snapshot: readers take
+ * the current snapshot with one volatile read (no lock, no DB); the admin endpoints build
+ * a new map and publish it atomically. The bank is small and rarely edited, so copying it
+ * per edit is cheaper than any synchronization on the read side.
+ */
+@Component
+public class QuestionCatalog {
+
+    public record Entry(Long id,
+                        String content,
+                        String correctAnswer,
+                        AnswerMatcher answers, // accepted answers, normalized when the entry is built
+                        int level,
+                        boolean hasImage,
+                        String imageHash) {
+
+        public static Entry of(Question q) {
+            AnswerMatcher answers = AnswerMatcher.compile(q.getCorrectAnswer(), q.getAcceptedAnswers(), q.getAnswerTolerance());
+            return new Entry(q.getId(), q.getContent(), q.getCorrectAnswer(), answers,
+                    q.getLevel(), q.hasImage(), q.getImageHash());
+        }
+    }
+
+    private record Snapshot(Map<Long, Entry> byId, List<Long> ids) {}
+
+    private static final Snapshot EMPTY = new Snapshot(Map.of(), List.of());
+
+    private final QuestionRepository questionRepository;
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    public QuestionCatalog(QuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    /** Full load from DB (startup). */
+    @PostConstruct
+    public synchronized void reload() {
+        Map<Long, Entry> byId = new HashMap<>();
+        for (Question q : questionRepository.findAll()) byId.put(q.getId(), Entry.of(q));
+        publish(byId);
+    }
+
+    // =========================
+    // Reads (lock-free)
+    // =========================
+
+    public Entry get(Long questionId) {
+        return (questionId == null ? null : snapshot.byId().get(questionId));
+    }
+
+    public boolean contains(Long questionId) {
+        return get(questionId) != null;
+    }
+
+    /** All question ids, ascending (immutable). */
+    public List<Long> ids() {
+        return snapshot.ids();
+    }
+
+    public int size() {
+        return snapshot.ids().size();
+    }
+
+    // =========================
+    // Writes (admin; serialized, each publishes a new snapshot)
+    // =========================
+
+    /** Created or changed question (text, answer, level, image). */
+    public synchronized Entry put(Question q) {
+        Entry entry = Entry.of(q);
+        Map<Long, Entry> byId = new HashMap<>(snapshot.byId());
+        byId.put(entry.id(), entry);
+        publish(byId);
+        return entry;
+    }
+
+    public synchronized void remove(Long questionId) {
+        if (!snapshot.byId().containsKey(questionId)) return;
+        Map<Long, Entry> byId = new HashMap<>(snapshot.byId());
+        byId.remove(questionId);
+        publish(byId);
+    }
+
+    private void publish(Map<Long, Entry> byId) {
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        Collections.sort(ids);
+        snapshot = new Snapshot(Collections.unmodifiableMap(byId), Collections.unmodifiableList(ids));
+    }
+}
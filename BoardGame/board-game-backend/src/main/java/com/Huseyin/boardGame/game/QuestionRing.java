@@ -0,0 +1,123 @@
+package com.Huseyin.boardGame.game;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable, id-sorted ring of a game's question ids.
+ *
+ * Built once when the room's question set is loaded; "next question" is then an
+ * O(1) lookup in a small open-addressing index (id -> position) that allocates nothing.
+ * Ids are database ids, so 0 is used as "no question".
+ */
+public final class QuestionRing {
+
+    public static final long NONE = 0L;
+
+    public static final QuestionRing EMPTY = new QuestionRing(new long[0]);
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private final long[] ids;     // sorted ascending
+    private final Long[] boxed;   // same ids, boxed once for callers holding Long
+    private final long[] keys;    // open addressing: question id or FREE
+    private final int[] index;    // position of keys[i] in ids
+    private final int mask;
+
+    private QuestionRing(long[] sortedIds) {
+        this.ids = sortedIds;
+        this.boxed = new Long[sortedIds.length];
+        for (int i = 0; i < sortedIds.length; i++) boxed[i] = sortedIds[i];
+
+        int cap = 2;
+        while (cap < sortedIds.length * 2) cap <<= 1;
+        this.keys = new long[cap];
+        this.index = new int[cap];
+        this.mask = cap - 1;
+        Arrays.fill(keys, FREE);
+
+        for (int i = 0; i < sortedIds.length; i++) {
+            int slot = slot(sortedIds[i]);
+            while (keys[slot] != FREE) slot = (slot + 1) & mask;
+            keys[slot] = sortedIds[i];
+            index[slot] = i;
+        }
+    }
+
+    public static QuestionRing of(Collection<Long> questionIds) {
+        if (questionIds == null || questionIds.isEmpty()) return EMPTY;
+
+        long[] sorted = questionIds.stream()
+                .filter(id -> id != null && id != NONE)
+                .mapToLong(Long::longValue)
+                .distinct()
+                .sorted()
+                .toArray();
+        return sorted.length == 0 ? EMPTY : new QuestionRing(sorted);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /** Lowest id, or {@link #NONE}. */
+    public long first() {
+        return ids.length == 0 ? NONE : ids[0];
+    }
+
+    /** Position of an id in sorted order, or -1. */
+    public int indexOf(long questionId) {
+        int slot = slot(questionId);
+        while (true) {
+            long k = keys[slot];
+            if (k == questionId) return index[slot];
+            if (k == FREE) return -1;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean contains(long questionId) {
+        return indexOf(questionId) >= 0;
+    }
+
+    /**
+     * Deterministic next question (wraps around). Unknown or {@link #NONE} current id
+     * starts over at the first question. {@link #NONE} if the ring is empty.
+     */
+    public long next(long currentId) {
+        if (ids.length == 0) return NONE;
+        int i = (currentId == NONE ? -1 : indexOf(currentId));
+        if (i < 0) return ids[0];
+        return ids[(i + 1) % ids.length];
+    }
+
+    /** Boxed variant of {@link #first()}: null if empty. Returns a cached instance. */
+    public Long firstId() {
+        return boxed.length == 0 ? null : boxed[0];
+    }
+
+    /** Boxed variant of {@link #next(long)}: null if empty. Returns a cached instance. */
+    public Long nextId(Long currentId) {
+        if (ids.length == 0) return null;
+        int i = (currentId == null ? -1 : indexOf(currentId));
+        return boxed[i < 0 ? 0 : (i + 1) % ids.length];
+    }
+
+    /** True if this ring holds exactly the given ids. */
+    public boolean sameIdsAs(Collection<Long> questionIds) {
+        if (questionIds.size() != ids.length) return false;
+        for (Long id : questionIds) {
+            if (id == null || !contains(id)) return false;
+        }
+        return true;
+    }
+
+    private int slot(long id) {
+        long h = id * 0x9E3779B97F4A7C15L; // Fibonacci hashing
+        return (int) (h >>> 32) & mask;
+    }
+}
@@ -0,0 +1,67 @@
+package com.Huseyin.boardGame.game;
+
+import com.Huseyin.boardGame.model.PlayerGameStatus;
+import com.Huseyin.boardGame.model.User;
+
+import java.util.List;
+
+/**
+ * Immutable "who sits where" of one game: slot = join order (1..n).
+ *
+ * Built from one fetch-joined query (statuses + users, see
+ * {@code PlayerGameStatusRepository.findRosterByGameId}) and replaced as a whole on
+ * join / leave. Slot, turn and block logic resolve players here instead of querying.
+ */
+public final class Roster {
+
+    public static final Roster EMPTY = new Roster(new Long[0], new Long[0], new String[0]);
+
+    private final Long[] statusIds;
+    private final Long[] userIds;
+    private final String[] usernames;
+
+    private Roster(Long[] statusIds, Long[] userIds, String[] usernames) {
+        this.statusIds = statusIds;
+        this.userIds = userIds;
+        this.usernames = usernames;
+    }
+
+    /** Statuses must be in join order (id asc) with their player already fetched. */
+    public static Roster of(List<PlayerGameStatus> statuses) {
+        int n = statuses.size();
+        if (n == 0) return EMPTY;
+
+        Long[] statusIds = new Long[n];
+        Long[] userIds = new Long[n];
+        String[] usernames = new String[n];
+        for (int i = 0; i < n; i++) {
+            PlayerGameStatus st = statuses.get(i);
+            User u = st.getPlayer();
+            statusIds[i] = st.getId();
+            userIds[i] = (u != null ? u.getId() : null);
+            usernames[i] = (u != null ? u.getUsername() : null);
+        }
+        return new Roster(statusIds, userIds, usernames);
+    }
+
+    public int size() {
+        return userIds.length;
+    }
+
+    /** slot (1..n) of a user, -1 if not seated */
+    public int slotOf(Long userId) {
+        if (userId == null) return -1;
+        for (int i = 0; i < userIds.length; i++) {
+            if (userId.equals(userIds[i])) return i + 1;
+        }
+        return -1;
+    }
+
+    public boolean contains(Long userId) {
+        return slotOf(userId) > 0;
+    }
+
+    public Long statusId(int slot) { return statusIds[slot - 1]; }
+    public Long userId(int slot) { return userIds[slot - 1]; }
+    public String username(int slot) { return usernames[slot - 1]; }
+}
@@ -0,0 +1,70 @@
+package com.Huseyin.boardGame.game;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Strong ETags derived from {@link GameSession#getVersion()}.
+ *
+ * The tag only depends on the game id, the session instance and its version, so a
+ * matching If-None-Match is answered with 304 before anything is read or built.
+ *
+ * Metrics: game.etag.requests{resource, result=hit|miss} and game.etag.hit.ratio (all resources).
+ */
+@Component
+public final class StateETags {
+
+    private final MeterRegistry meters;
+    private final Map<String, Counter> hits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> misses = new ConcurrentHashMap<>();
+    private final LongAdder totalHits = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    public StateETags(MeterRegistry meters) {
+        this.meters = meters;
+        Gauge.builder("game.etag.hit.ratio", this, StateETags::hitRatio)
+                .description("Share of conditional GETs answered with 304")
+                .register(meters);
+    }
+
+    private double hitRatio() {
+        long n = total.sum();
+        return n == 0 ? 0.0 : (double) totalHits.sum() / n;
+    }
+
+    /** e.g. "state-12-1700000000000-57" */
+    public String tag(String resource, GameSession session) {
+        return "\"" + resource + "-" + session.getGameId() + "-" + session.getEpoch() + "-" + session.getVersion() + "\"";
+    }
+
+    /** True (and counted as a hit) if the client already has {@code etag}. */
+    public boolean notModified(String resource, String ifNoneMatch, String etag) {
+        boolean hit = ifNoneMatch != null && matches(ifNoneMatch, etag);
+        counter(hit ? hits : misses, resource, hit ? "hit" : "miss").increment();
+        total.increment();
+        if (hit) totalHits.increment();
+        return hit;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*") || c.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private Counter counter(Map<String, Counter> byResource, String resource, String result) {
+        return byResource.computeIfAbsent(resource, r -> Counter.builder("game.etag.requests")
+                .description("Conditional GETs on game resources")
+                .tag("resource", r)
+                .tag("result", result)
+                .register(meters));
+    }
+}
@@ -0,0 +1,111 @@
+package com.Huseyin.boardGame.game;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-poll for GET /api/games/{gameId}/state?sinceVersion=N&waitMs=..
+ *
+ * A request whose version is already outdated is answered at once. Otherwise it is
+ * parked as a {@link DeferredResult} (no servlet thread held) in the game's waiter set;
+ * the next {@link GameStateChangedEvent} renders the state once and completes every
+ * waiter of that game with the shared {@link StateSnapshots} bytes. Waiters that time out get 304.
+ *
+ * "Changed" means version != N, so a client also wakes up after the session was reloaded.
+ */
+@Component
+public class StateLongPoll {
+
+    public static final long MAX_WAIT_MS = 30_000;
+
+    private record Waiter(long sinceVersion, boolean gzip, DeferredResult<ResponseEntity<?>> result) {}
+
+    private final GameSessionRegistry sessions;
+    private final StateSnapshots snapshots;
+
+    private final Map<Long, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger parked = new AtomicInteger();
+
+    public StateLongPoll(GameSessionRegistry sessions, StateSnapshots snapshots, MeterRegistry meters) {
+        this.sessions = sessions;
+        this.snapshots = snapshots;
+        Gauge.builder("game.state.longpoll.parked", parked, AtomicInteger::get)
+                .description("Parked /state long-poll requests")
+                .register(meters);
+    }
+
+    public DeferredResult<ResponseEntity<?>> await(GameSession session, long sinceVersion, long waitMs, boolean gzip) {
+        long timeout = Math.min(waitMs, MAX_WAIT_MS);
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(Math.max(timeout, 1));
+
+        if (session.getVersion() != sinceVersion) {
+            result.setResult(snapshots.get(session).ok(gzip));
+            return result;
+        }
+        if (timeout <= 0) {
+            result.setResult(snapshots.notModified(session, gzip));
+            return result;
+        }
+
+        Waiter w = new Waiter(sinceVersion, gzip, result);
+        Set<Waiter> set = waiters.computeIfAbsent(session.getGameId(), id -> ConcurrentHashMap.newKeySet());
+        set.add(w);
+        parked.incrementAndGet();
+
+        result.onTimeout(() -> result.setResult(snapshots.notModified(session, gzip)));
+        result.onCompletion(() -> {
+            if (set.remove(w)) parked.decrementAndGet();
+        });
+
+        // a change may have been published between the version check and add()
+        if (session.getVersion() != sinceVersion && set.remove(w)) {
+            parked.decrementAndGet();
+            result.setResult(snapshots.get(session).ok(gzip));
+        }
+        return result;
+    }
+
+    /** Runs on the game's command thread (published by GameSessionRegistry). */
+    @EventListener
+    public void onStateChanged(GameStateChangedEvent event) {
+        Set<Waiter> set = waiters.get(event.gameId());
+        if (set == null || set.isEmpty()) return;
+
+        GameSession session = sessions.find(event.gameId());
+        if (session == null) return;
+
+        // rendered once for all waiters of this version
+        StateSnapshots.Snapshot snap = snapshots.get(session);
+        for (Waiter w : set) {
+            if (w.sinceVersion() != event.version() && set.remove(w)) {
+                parked.decrementAndGet();
+                w.result().setResult(snap.ok(w.gzip()));
+            }
+        }
+    }
+
+    /** Game deleted: release its waiters with 404. */
+    public void close(Long gameId) {
+        Set<Waiter> set = waiters.remove(gameId);
+        if (set == null) return;
+        for (Waiter w : set) {
+            if (set.remove(w)) {
+                parked.decrementAndGet();
+                w.result().setResult(ResponseEntity.notFound().build());
+            }
+        }
+    }
+
+    public void closeAll() {
+        for (Long gameId : waiters.keySet()) close(gameId);
+    }
+}
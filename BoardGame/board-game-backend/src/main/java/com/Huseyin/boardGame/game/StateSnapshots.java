@@ -0,0 +1,182 @@
+package com.Huseyin.boardGame.game;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialize-once state: each (session, version) is rendered to JSON a single time,
+ * kept as immutable identity and gzip bytes, and handed to every reader of that
+ * version (/state, long-poll, STOMP push, /sync) until the version moves.
+ *
+ * A reader of the current version gets the same prebuilt response objects: no rendering
+ * and no per-request allocation in this class. Rendering runs on the game's command thread.
+ */
+@Component
+public class StateSnapshots {
+
+    /** One rendered version, with its HTTP responses prebuilt (they are read-only). */
+    public static final class Snapshot {
+        private final long epoch;
+        private final long version;
+        private final String json;
+        private final byte[] identity;
+        private final String etag;
+        private final ResponseEntity<byte[]> ok;
+        private final ResponseEntity<byte[]> okGzip;
+        private final ResponseEntity<byte[]> notModified;
+        private final ResponseEntity<byte[]> notModifiedGzip;
+
+        Snapshot(long epoch, long version, String json, byte[] identity, byte[] gzip, String etag) {
+            String gzipEtag = gzipTag(etag);
+            this.epoch = epoch;
+            this.version = version;
+            this.json = json;
+            this.identity = identity;
+            this.etag = etag;
+            this.ok = response(identity, etag, false);
+            this.okGzip = response(gzip, gzipEtag, true);
+            this.notModified = notModified(etag);
+            this.notModifiedGzip = notModified(gzipEtag);
+        }
+
+        public long version() { return version; }
+        public byte[] identity() { return identity; }
+
+        /** Strong ETag of the representation actually sent. */
+        public String etag(boolean gzipped) {
+            return gzipped ? okGzip.getHeaders().getETag() : etag;
+        }
+
+        public ResponseEntity<byte[]> ok(boolean gzipped) {
+            return gzipped ? okGzip : ok;
+        }
+
+        public ResponseEntity<byte[]> notModified(boolean gzipped) {
+            return gzipped ? notModifiedGzip : notModified;
+        }
+
+        /** Embeds the JSON as-is into another Jackson-written body. */
+        public RawValue raw() {
+            return new RawValue(json);
+        }
+
+        private static ResponseEntity<byte[]> response(byte[] body, String etag, boolean gzipped) {
+            ResponseEntity.BodyBuilder b = ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(body.length)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzipped) b.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return b.body(body);
+        }
+
+        private static ResponseEntity<byte[]> notModified(String etag) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+    }
+
+    private final GameSessionRegistry sessions;
+    private final StateETags etags;
+    private final ObjectMapper json;
+
+    private final Map<Long, Snapshot> current = new ConcurrentHashMap<>();
+
+    public StateSnapshots(GameSessionRegistry sessions, StateETags etags, ObjectMapper json) {
+        this.sessions = sessions;
+        this.etags = etags;
+        this.json = json;
+    }
+
+    /** Snapshot of the session's current version. */
+    public Snapshot get(GameSession session) {
+        Snapshot s = current.get(session.getGameId());
+        if (isCurrent(s, session)) return s;
+        return sessions.read(session, this::render);
+    }
+
+    /** ETag the current version's snapshot has (or will have), without rendering it. */
+    public String etag(GameSession session, boolean gzipped) {
+        String etag = etags.tag("state", session);
+        return gzipped ? gzipTag(etag) : etag;
+    }
+
+    /** 304 for a client that has the current version; prebuilt if that version was rendered. */
+    public ResponseEntity<byte[]> notModified(GameSession session, boolean gzipped) {
+        Snapshot s = current.get(session.getGameId());
+        if (isCurrent(s, session)) return s.notModified(gzipped);
+        return Snapshot.notModified(etag(session, gzipped));
+    }
+
+    public void forget(Long gameId) {
+        current.remove(gameId);
+    }
+
+    /** Finished game left the session cache: its snapshot goes too. */
+    @EventListener
+    public void onSessionDropped(GameSessionDroppedEvent event) {
+        forget(event.gameId());
+    }
+
+    public void forgetAll() {
+        current.clear();
+    }
+
+    private static boolean isCurrent(Snapshot s, GameSession session) {
+        return s != null && s.epoch == session.getEpoch() && s.version == session.getVersion();
+    }
+
+    private Snapshot render(GameSession live) {
+        Snapshot s = current.get(live.getGameId());
+        if (isCurrent(s, live)) return s; // another reader rendered it while we queued
+
+        try {
+            String text = json.writeValueAsString(GameStateMapper.state(live));
+            byte[] identity = text.getBytes(StandardCharsets.UTF_8);
+            s = new Snapshot(live.getEpoch(), live.getVersion(), text, identity, gzip(identity),
+                    etags.tag("state", live));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("State serialization failed for game " + live.getGameId(), e);
+        }
+        current.put(live.getGameId(), s);
+        return s;
+    }
+
+    private static String gzipTag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3 + 32);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+}
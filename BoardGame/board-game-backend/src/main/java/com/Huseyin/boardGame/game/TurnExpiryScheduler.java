@@ -0,0 +1,137 @@
+package com.Huseyin.boardGame.game;
+
+import com.Huseyin.boardGame.model.Game;
+import com.Huseyin.boardGame.repository.GameRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Advances turns on the server when turnEndsAt passes, without waiting for a poll
+ * or a /timeout call. One wheel timer per ACTIVE game, re-armed whenever the
+ * session's turnEndsAt changes.
+ *
+ * Abandoned rooms don't tick forever: after {@link #MAX_IDLE_TURNS} turns expired in a row
+ * with no answer, join or client read in between, the game is parked (no timer) until a
+ * client shows up again ({@link #clientSeen}). At startup only games whose deadline passed
+ * less than {@link #STARTUP_CUTOFF_MS} ago are armed; older ones start parked.
+ */
+@Component
+public class TurnExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TurnExpiryScheduler.class);
+
+    private static final long TICK_MS = 50;
+    private static final int WHEEL_SIZE = 1024; // ~51 s per rotation
+    static final int MAX_IDLE_TURNS = 20;
+    private static final long STARTUP_CUTOFF_MS = 10 * 60 * 1000L;
+
+    /** Turns expired by the timer in a row; version = the session version the last one produced. */
+    private record Idle(long version, int turns) {
+        boolean parked() { return turns >= MAX_IDLE_TURNS; }
+    }
+
+    private static final Idle PARKED = new Idle(-1, MAX_IDLE_TURNS);
+
+    private final GameSessionRegistry sessions;
+    private final GameRepository gameRepository;
+
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final TurnTimerWheel wheel;
+    private final Map<Long, Idle> idle = new ConcurrentHashMap<>();
+
+    public TurnExpiryScheduler(GameSessionRegistry sessions, GameRepository gameRepository) {
+        this.sessions = sessions;
+        this.gameRepository = gameRepository;
+        this.wheel = new TurnTimerWheel(TICK_MS, WHEEL_SIZE, dispatcher, this::expire);
+        this.wheel.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        wheel.stop();
+        dispatcher.shutdown();
+    }
+
+    /** Arm timers for games that were running before a restart. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleActiveGames() {
+        long cutoff = System.currentTimeMillis() - STARTUP_CUTOFF_MS;
+        for (Game g : gameRepository.findByStatus(Game.Status.ACTIVE)) {
+            if (g.getTurnEndsAt() == null) continue;
+            if (g.getTurnEndsAt() >= cutoff) {
+                wheel.schedule(g.getId(), g.getTurnEndsAt());
+            } else {
+                idle.put(g.getId(), PARKED); // long abandoned: wait for a client
+            }
+        }
+        log.info("Turn timers armed: {}, parked: {}", wheel.size(), idle.size());
+    }
+
+    @EventListener
+    public void onStateChanged(GameStateChangedEvent event) {
+        GameSession session = sessions.find(event.gameId());
+        if (session == null) {
+            wheel.cancel(event.gameId());
+            idle.remove(event.gameId());
+            return;
+        }
+
+        Idle i = idle.get(event.gameId());
+        if (i == null || i.version() != event.version()) {
+            idle.remove(event.gameId()); // someone played: not idle
+        } else if (i.parked()) {
+            wheel.cancel(event.gameId());
+            log.debug("Game {} parked after {} idle turns", event.gameId(), i.turns());
+            return;
+        }
+        rearm(session);
+    }
+
+    /** A client read the game (state, sync, events): a parked game gets its timer back. */
+    public void clientSeen(Long gameId) {
+        Idle i = idle.remove(gameId);
+        if (i == null || !i.parked()) return;
+
+        GameSession session = sessions.find(gameId);
+        if (session != null) rearm(session); // a deadline that passed meanwhile expires right away
+    }
+
+    private void rearm(GameSession session) {
+        Long endsAt = sessions.read(session, s -> s.isFinished() ? null : s.getTurnEndsAt());
+        if (endsAt == null) {
+            wheel.cancel(session.getGameId());
+        } else {
+            wheel.schedule(session.getGameId(), endsAt);
+        }
+    }
+
+    private void expire(long gameId) {
+        try {
+            GameSession session = sessions.find(gameId);
+            if (session == null) return;
+
+            // empty rooms keep their clock frozen until someone joins (join re-arms)
+            boolean advanced = sessions.update(session, s -> {
+                boolean moved = s.playerCount() > 0 && s.ensureNotExpired(System.currentTimeMillis());
+                // the event of this change carries this version: onStateChanged counts it as idle
+                if (moved) idle.merge(gameId, new Idle(s.getVersion(), 1),
+                        (prev, next) -> new Idle(next.version(), prev.turns() + 1));
+                return moved;
+            });
+
+            // timer was stale (turn already moved on): re-arm for the current deadline
+            if (!advanced && sessions.read(session, s -> s.playerCount() > 0)) rearm(session);
+        } catch (RuntimeException e) {
+            log.error("Turn expiry failed for game {}", gameId, e);
+        }
+    }
+}
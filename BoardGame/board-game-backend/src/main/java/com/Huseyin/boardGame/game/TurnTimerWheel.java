@@ -0,0 +1,164 @@
+package com.Huseyin.boardGame.game;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.LongConsumer;
+
+/**
+ * Hashed timer wheel holding at most one timer per game (keyed by game id).
+ *
+ * - schedule / cancel are O(1) and lock-free: new timers go through a queue that the
+ *   wheel thread moves into buckets once per tick, cancelled timers are unlinked lazily.
+ * - A timer never fires early; it fires at most one tick late.
+ * - Expiry callbacks run on {@code dispatcher}, never on the wheel thread.
+ */
+public class TurnTimerWheel {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final class Timer {
+        final long gameId;
+        final long deadlineMs;
+        long rounds;
+        volatile boolean cancelled;
+        Timer next;
+
+        Timer(long gameId, long deadlineMs) {
+            this.gameId = gameId;
+            this.deadlineMs = deadlineMs;
+        }
+    }
+
+    private final long tickMs;
+    private final int mask;
+    private final Timer[] buckets;
+    private final LongConsumer onExpire;
+    private final Executor dispatcher;
+
+    private final Queue<Timer> pending = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Timer> byGame = new ConcurrentHashMap<>();
+
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long startMs;
+    private long tick = 1; // only touched by the wheel thread
+
+    /**
+     * @param tickMs      resolution (max lateness)
+     * @param wheelSize   number of buckets, rounded up to a power of two
+     */
+    public TurnTimerWheel(long tickMs, int wheelSize, Executor dispatcher, LongConsumer onExpire) {
+        int size = 2;
+        while (size < wheelSize) size <<= 1;
+        this.tickMs = tickMs;
+        this.mask = size - 1;
+        this.buckets = new Timer[size];
+        this.dispatcher = dispatcher;
+        this.onExpire = onExpire;
+        this.worker = new Thread(this::run, "turn-timer-wheel");
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        startMs = System.currentTimeMillis();
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /** (Re)arm the timer of a game. No-op if it is already armed for the same deadline. */
+    public void schedule(long gameId, long deadlineMs) {
+        Timer current = byGame.get(gameId);
+        if (current != null && current.deadlineMs == deadlineMs && !current.cancelled) return;
+
+        Timer t = new Timer(gameId, deadlineMs);
+        Timer prev = byGame.put(gameId, t);
+        if (prev != null) prev.cancelled = true;
+        pending.add(t);
+    }
+
+    public void cancel(long gameId) {
+        Timer prev = byGame.remove(gameId);
+        if (prev != null) prev.cancelled = true;
+    }
+
+    public int size() {
+        return byGame.size();
+    }
+
+    // =========================
+    // Wheel thread
+    // =========================
+
+    private void run() {
+        while (running) {
+            long tickStart = startMs + tick * tickMs;
+            long sleep = tickStart - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (!running) return;
+                    continue;
+                }
+            }
+
+            transferPending();
+            expireBucket((int) (tick & mask));
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timer t = pending.poll();
+            if (t == null) return;
+            if (t.cancelled) continue;
+
+            long due = Math.floorDiv(t.deadlineMs - startMs + tickMs - 1, tickMs); // ceil: never early
+            long target = Math.max(due, tick);
+            t.rounds = (target - tick) / buckets.length;
+
+            int idx = (int) (target & mask);
+            t.next = buckets[idx];
+            buckets[idx] = t;
+        }
+    }
+
+    private void expireBucket(int idx) {
+        Timer prev = null;
+        Timer t = buckets[idx];
+        while (t != null) {
+            Timer next = t.next;
+            boolean remove;
+
+            if (t.cancelled) {
+                remove = true;
+            } else if (t.rounds <= 0) {
+                remove = true;
+                if (byGame.remove(t.gameId, t)) {
+                    long gameId = t.gameId;
+                    dispatcher.execute(() -> onExpire.accept(gameId));
+                }
+            } else {
+                t.rounds--;
+                remove = false;
+            }
+
+            if (remove) {
+                if (prev == null) buckets[idx] = next;
+                else prev.next = next;
+                t.next = null;
+            } else {
+                prev = t;
+            }
+            t = next;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.Huseyin.boardGame.image;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Serves {@link ImageStore} files.
+ *
+ * - ETag = the hash; a matching If-None-Match is answered with 304 right away.
+ * - Whole-file GETs on Tomcat go out with sendfile (the file never passes through
+ *   the JVM); Range requests are answered as 206 by Spring's resource region support.
+ */
+@Component
+public class ImageServer {
+
+    // Tomcat's sendfile request attributes (see org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /** For URLs that name the hash: the bytes can never change. */
+    public static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    /** For URLs that name a question: its image may be replaced, so revalidate (cheap 304). */
+    public static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private final ImageStore store;
+
+    public ImageServer(ImageStore store) {
+        this.store = store;
+    }
+
+    public ResponseEntity<Resource> serve(String hash, String fallbackType, CacheControl cache,
+                                          HttpServletRequest request) {
+        if (!store.exists(hash)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        String etag = "\"" + hash + "\"";
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cache).build();
+        }
+
+        Path file = store.path(hash);
+        MediaType type = MediaType.parseMediaType(store.contentType(hash, fallbackType));
+
+        if (request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            long size;
+            try {
+                size = Files.size(file);
+            } catch (IOException e) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            // zero-copy: Tomcat writes the file itself once the (empty-bodied) response is committed
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return ResponseEntity.ok()
+                    .contentType(type)
+                    .contentLength(size)
+                    .eTag(etag)
+                    .cacheControl(cache)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(type)
+                .eTag(etag)
+                .cacheControl(cache)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(new FileSystemResource(file));
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals("*") || c.equals(etag)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package com.Huseyin.boardGame.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image files: each image is stored once under its SHA-256
+ * ({@code images.dir}/ab/abcdef...), however many questions use it.
+ *
+ * Uploads are streamed to a temp file while hashing (no heap copy of the image),
+ * then moved into place atomically. Files are never modified, so a hash is a
+ * permanent name: perfect for ETag / immutable caching.
+ */
+@Component
+public class ImageStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    public record StoredImage(String hash, long size, String contentType) {}
+
+    private final Path dir;
+    private final Path tmpDir;
+    private final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+
+    public ImageStore(@Value("${images.dir:images}") String dir) throws IOException {
+        this.dir = Path.of(dir).toAbsolutePath();
+        this.tmpDir = this.dir.resolve("tmp");
+        Files.createDirectories(tmpDir);
+    }
+
+    /** Stream an image into the store; returns its hash, size and (sniffed) content type. */
+    public StoredImage store(InputStream in, String declaredType) throws IOException {
+        MessageDigest sha = sha256();
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            long size;
+            try (DigestInputStream din = new DigestInputStream(in, sha);
+                 OutputStream out = Files.newOutputStream(tmp)) {
+                size = din.transferTo(out);
+            }
+
+            String hash = HexFormat.of().formatHex(sha.digest());
+            Path target = path(hash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException sameImageRaced) {
+                    // identical content, nothing to do
+                }
+            }
+            return new StoredImage(hash, size, contentType(hash, declaredType));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public boolean isHash(String hash) {
+        return hash != null && HASH.matcher(hash).matches();
+    }
+
+    /** Location of an image (validated hash, so no path tricks). */
+    public Path path(String hash) {
+        if (!isHash(hash)) throw new IllegalArgumentException("Not an image hash: " + hash);
+        return dir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    public boolean exists(String hash) {
+        return isHash(hash) && Files.isRegularFile(path(hash));
+    }
+
+    /** Content type from the file's magic bytes (cached per hash), else the fallback. */
+    public String contentType(String hash, String fallback) {
+        String known = contentTypes.get(hash);
+        if (known != null) return known;
+
+        byte[] head = new byte[12];
+        int n = 0;
+        try (InputStream in = Files.newInputStream(path(hash))) {
+            n = in.readNBytes(head, 0, head.length);
+        } catch (IOException ignored) {
+            // fall through to the fallback
+        }
+        String sniffed = sniff(head, n);
+        String type = (sniffed != null ? sniffed : (fallback != null && !fallback.isBlank() ? fallback : "application/octet-stream"));
+        if (sniffed != null) contentTypes.put(hash, type);
+        return type;
+    }
+
+    private static String sniff(byte[] b, int n) {
+        if (n >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) return "image/jpeg";
+        if (n >= 8 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G') return "image/png";
+        if (n >= 6 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F') return "image/gif";
+        if (n >= 12 && b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') return "image/webp";
+        return null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.Huseyin.boardGame.image;
+
+import com.Huseyin.boardGame.model.ImageVariant;
+import com.Huseyin.boardGame.repository.ImageVariantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pre-sized renditions of stored images (thumb / card / full), rendered in the background.
+ *
+ * An upload is decoded once (subsampled while reading when it is far larger than the
+ * biggest variant), then scaled down step by step, EXIF-rotated and re-encoded: JPEG,
+ * or PNG when the image has transparency. Each result goes into the {@link ImageStore}
+ * like any image and is recorded with its size in image_variants. A variant that would
+ * not be smaller than the original just points at the original.
+ *
+ * The pool is bounded ({@link #WORKERS} threads, {@link #QUEUE} waiting images); when it
+ * is full the request is dropped and the next read of a missing variant schedules it again.
+ * Until a variant exists readers get the original.
+ *
+ * Metrics: images.variants.render (per image), images.variants.rejected.
+ */
+@Component
+public class ImageVariants {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariants.class);
+
+    private static final int WORKERS = 2;
+    private static final int QUEUE = 64;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    public enum Variant {
+        THUMB(160), CARD(640), FULL(1600);
+
+        final int edge; // longest side, px
+
+        Variant(int edge) {
+            this.edge = edge;
+        }
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /** "card" -> CARD; null for null / blank, IllegalArgumentException if unknown. */
+        public static Variant parse(String value) {
+            if (value == null || value.isBlank()) return null;
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    // largest first: each variant is scaled from the previous one
+    private static final Variant[] RENDER_ORDER = {Variant.FULL, Variant.CARD, Variant.THUMB};
+
+    private final ImageStore store;
+    private final ImageVariantRepository variantRepository;
+    private final Timer renderTime;
+    private final Counter rejected;
+
+    private final Map<String, String> resolved = new ConcurrentHashMap<>();   // "source:variant" -> hash
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Set<String> unrenderable = ConcurrentHashMap.newKeySet(); // gif, webp, broken files
+
+    private final ThreadPoolExecutor pool;
+
+    public ImageVariants(ImageStore store, ImageVariantRepository variantRepository, MeterRegistry meters) {
+        this.store = store;
+        this.variantRepository = variantRepository;
+        this.renderTime = Timer.builder("images.variants.render")
+                .description("Decode + all variants of one image")
+                .register(meters);
+        this.rejected = Counter.builder("images.variants.rejected")
+                .description("Variant jobs dropped because the queue was full")
+                .register(meters);
+
+        AtomicInteger n = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(WORKERS, WORKERS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE), r -> {
+                    Thread t = new Thread(r, "image-variants-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.NORM_PRIORITY - 1);
+                    return t;
+                });
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    /** Queue rendering of an image's variants (no-op if already queued or not renderable). */
+    public void schedule(String sourceHash) {
+        if (!store.isHash(sourceHash) || unrenderable.contains(sourceHash)) return;
+        if (!pending.add(sourceHash)) return;
+
+        try {
+            pool.execute(() -> {
+                try {
+                    render(sourceHash);
+                } catch (Exception e) {
+                    log.warn("Image variants of {} failed: {}", sourceHash, e.toString());
+                } finally {
+                    pending.remove(sourceHash);
+                }
+            });
+        } catch (RejectedExecutionException full) {
+            pending.remove(sourceHash);
+            rejected.increment();
+        }
+    }
+
+    /** Hash of a rendered variant, or null (rendering is then scheduled; serve the original meanwhile). */
+    public String resolve(String sourceHash, Variant variant) {
+        String key = sourceHash + ':' + variant.key();
+        String hit = resolved.get(key);
+        if (hit != null) return hit;
+        // known to have no variants, or being rendered right now: the original, no DB lookup
+        if (unrenderable.contains(sourceHash) || pending.contains(sourceHash)) return null;
+
+        Optional<ImageVariant> row = variantRepository.findBySourceHashAndVariant(sourceHash, variant.key());
+        if (row.isPresent() && store.exists(row.get().getImageHash())) {
+            resolved.put(key, row.get().getImageHash());
+            return row.get().getImageHash();
+        }
+        schedule(sourceHash);
+        return null;
+    }
+
+    public List<ImageVariant> variantsOf(String sourceHash) {
+        return variantRepository.findBySourceHash(sourceHash);
+    }
+
+    // =========================
+    // RENDERING (worker threads)
+    // =========================
+
+    void render(String sourceHash) throws IOException {
+        Set<String> done = new HashSet<>();
+        for (ImageVariant v : variantRepository.findBySourceHash(sourceHash)) {
+            if (store.exists(v.getImageHash())) done.add(v.getVariant());
+        }
+        if (done.size() == RENDER_ORDER.length) return;
+
+        Path src = store.path(sourceHash);
+        // animated GIFs would lose their animation; WebP has no ImageIO reader
+        if ("image/gif".equals(store.contentType(sourceHash, null))) {
+            unrenderable.add(sourceHash);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int[] sourceDims = new int[2];
+        BufferedImage image = decode(src, Variant.FULL.edge, sourceDims);
+        if (image == null) {
+            unrenderable.add(sourceHash);
+            return;
+        }
+
+        long sourceSize = Files.size(src);
+        int orientation = exifOrientation(src);
+        boolean alpha = image.getColorModel().hasAlpha();
+        boolean swapped = orientation >= 5; // 90 / 270 degree orientations
+
+        BufferedImage current = image;
+        for (Variant v : RENDER_ORDER) {
+            current = scale(current, v.edge, alpha);
+            if (done.contains(v.key())) continue;
+
+            BufferedImage out = orient(current, orientation);
+            byte[] bytes = encode(out, alpha);
+
+            ImageVariant row;
+            boolean fitsAsIs = Math.max(sourceDims[0], sourceDims[1]) <= v.edge;
+            if (fitsAsIs && bytes.length >= sourceSize) {
+                int w = swapped ? sourceDims[1] : sourceDims[0];
+                int h = swapped ? sourceDims[0] : sourceDims[1];
+                row = new ImageVariant(sourceHash, v.key(), sourceHash, w, h, sourceSize);
+            } else {
+                ImageStore.StoredImage stored = store.store(new ByteArrayInputStream(bytes),
+                        alpha ? "image/png" : "image/jpeg");
+                row = new ImageVariant(sourceHash, v.key(), stored.hash(), out.getWidth(), out.getHeight(), stored.size());
+            }
+
+            try {
+                variantRepository.save(row);
+            } catch (DataIntegrityViolationException raced) {
+                // rendered concurrently (another node); the stored row wins
+                continue;
+            }
+            resolved.put(sourceHash + ':' + v.key(), row.getImageHash());
+        }
+        renderTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /** Decode, subsampling while reading when the image is far larger than maxEdge. Null if not decodable. */
+    private static BufferedImage decode(Path file, int maxEdge, int[] dims) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                dims[0] = reader.getWidth(0);
+                dims[1] = reader.getHeight(0);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(dims[0], dims[1]) / maxEdge; // result stays >= maxEdge
+                if (step > 1) param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Fit into maxEdge (never upscale), halving at most per step to keep bilinear smooth. */
+    private static BufferedImage scale(BufferedImage src, int maxEdge, boolean alpha) {
+        int w = src.getWidth(), h = src.getHeight();
+        double f = Math.min(1.0, (double) maxEdge / Math.max(w, h));
+        int tw = Math.max(1, (int) Math.round(w * f));
+        int th = Math.max(1, (int) Math.round(h * f));
+
+        BufferedImage cur = src;
+        int cw = w, ch = h;
+        do {
+            cw = Math.max(tw, cw / 2);
+            ch = Math.max(th, ch / 2);
+            BufferedImage next = new BufferedImage(cw, ch, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(cur, 0, 0, cw, ch, null);
+            } finally {
+                g.dispose();
+            }
+            cur = next;
+        } while (cw != tw || ch != th);
+        return cur;
+    }
+
+    /** Apply an EXIF orientation (1..8) so the re-encoded file (which has no EXIF) displays upright. */
+    private static BufferedImage orient(BufferedImage src, int orientation) {
+        int w = src.getWidth(), h = src.getHeight();
+        AffineTransform t = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // mirror horizontal
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // mirror vertical
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transpose
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 90 cw
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transverse
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);   // 90 ccw
+            default -> null;
+        };
+        if (t == null) return src;
+
+        boolean swap = orientation >= 5;
+        BufferedImage out = new BufferedImage(swap ? h : w, swap ? w : h, src.getType());
+        Graphics2D g = out.createGraphics();
+        try {
+            g.drawImage(src, t, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static byte[] encode(BufferedImage image, boolean alpha) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (alpha) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // =========================
+    // EXIF ORIENTATION (JPEG APP1, IFD0 tag 0x0112)
+    // =========================
+
+    static int exifOrientation(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readUnsignedShort() != 0xFFD8) return 1;
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) return 1; // image data: no EXIF
+                int len = in.readUnsignedShort() - 2;
+                if (len < 0) return 1;
+                if (marker == 0xFFE1) {
+                    int o = orientation(in.readNBytes(len));
+                    if (o > 0) return o;
+                } else {
+                    in.skipNBytes(len);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    /** Orientation from an APP1 segment; -1 if it is not EXIF (e.g. XMP). */
+    private static int orientation(byte[] seg) {
+        if (seg.length < 14 || seg[0] != 'E' || seg[1] != 'x' || seg[2] != 'i' || seg[3] != 'f' || seg[4] != 0 || seg[5] != 0) {
+            return -1;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(seg, 6, seg.length - 6).slice()
+                .order(seg[6] == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = tiff.getInt(4);
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int e = ifd + 2 + i * 12;
+            if ((tiff.getShort(e) & 0xFFFF) == 0x0112) {
+                int v = tiff.getShort(e + 8) & 0xFFFF;
+                return (v >= 1 && v <= 8) ? v : 1;
+            }
+        }
+        return 1;
+    }
+}
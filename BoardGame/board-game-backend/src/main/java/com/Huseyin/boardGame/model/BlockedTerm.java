@@ -0,0 +1,26 @@
+package com.Huseyin.boardGame.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "chat_blocked_terms")
+public class BlockedTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "term", nullable = false, unique = true, length = 100)
+    private String term;
+
+    public BlockedTerm() {}
+
+    public BlockedTerm(String term) {
+        this.term = term;
+    }
+
+    public Long getId() { return id; }
+    public String getTerm() { return term; }
+
+    public void setTerm(String term) { this.term = term; }
+}
@@ -0,0 +1,55 @@
+package com.Huseyin.boardGame.model;
+
+import jakarta.persistence.*;
+
+/**
+ * A pre-sized rendition of a stored image (see ImageVariants).
+ * Both hashes name files in the ImageStore; the variant is content-addressed like any image.
+ */
+@Entity
+@Table(name = "image_variants",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"source_hash", "variant"}))
+public class ImageVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_hash", nullable = false, length = 64)
+    private String sourceHash;
+
+    // thumb / card / full
+    @Column(name = "variant", nullable = false, length = 10)
+    private String variant;
+
+    @Column(name = "image_hash", nullable = false, length = 64)
+    private String imageHash;
+
+    @Column(name = "width", nullable = false)
+    private int width;
+
+    @Column(name = "height", nullable = false)
+    private int height;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    public ImageVariant() {}
+
+    public ImageVariant(String sourceHash, String variant, String imageHash, int width, int height, long size) {
+        this.sourceHash = sourceHash;
+        this.variant = variant;
+        this.imageHash = imageHash;
+        this.width = width;
+        this.height = height;
+        this.size = size;
+    }
+
+    public Long getId() { return id; }
+    public String getSourceHash() { return sourceHash; }
+    public String getVariant() { return variant; }
+    public String getImageHash() { return imageHash; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public long getSize() { return size; }
+}
@@ -1,6 +1,6 @@
 package com.Huseyin.boardGame.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
 @Entity
@@ -20,15 +20,29 @@ public class Question {
     @Column(name = "level")
     private int level = 1;
 
-    // ✅ Image stored in DB
-    @Lob
-    @JsonIgnore // IMPORTANT: do NOT include in normal JSON responses
-    @Column(name = "image_data", columnDefinition = "LONGBLOB")
-    private byte[] imageData;
+    // ✅ other accepted answers, one per line (see AnswerMatcher)
+    @Column(name = "accepted_answers", columnDefinition = "TEXT")
+    private String acceptedAnswers;
+
+    // ✅ typos tolerated when checking answers (0 = exact match only)
+    @Column(name = "answer_tolerance", nullable = false)
+    private int answerTolerance;
+
+    // ✅ legacy image_data LONGBLOB is NOT mapped here (see QuestionLegacyImage):
+    // loading a question reads these few columns, never the image bytes
+    @Column(name = "has_image", nullable = false)
+    private boolean hasImage;
+
+    @Column(name = "image_size")
+    private Long imageSize;
 
     @Column(name = "image_content_type", length = 100)
     private String imageContentType;
 
+    // ✅ SHA-256 of the image in the disk store (see ImageStore); image_data is legacy
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
     public Question() {}
 
     public Question(String content, String correctAnswer, int level) {
@@ -48,16 +62,25 @@ public class Question {
     public int getLevel() { return level; }
     public void setLevel(int level) { this.level = level; }
 
-    // ✅ image getters/setters
-    public byte[] getImageData() { return imageData; }
-    public void setImageData(byte[] imageData) { this.imageData = imageData; }
+    public String getAcceptedAnswers() { return acceptedAnswers; }
+    public void setAcceptedAnswers(String acceptedAnswers) { this.acceptedAnswers = acceptedAnswers; }
+
+    public int getAnswerTolerance() { return answerTolerance; }
+    public void setAnswerTolerance(int answerTolerance) { this.answerTolerance = answerTolerance; }
 
+    // ✅ image getters/setters
+    public Long getImageSize() { return imageSize; }
     public String getImageContentType() { return imageContentType; }
-    public void setImageContentType(String imageContentType) { this.imageContentType = imageContentType; }
+    public String getImageHash() { return imageHash; }
+
+    @JsonProperty(value = "hasImage", access = JsonProperty.Access.READ_ONLY)
+    public boolean hasImage() { return hasImage; }
 
-    // ✅ helper (optional)
-    @Transient
-    public boolean hasImage() {
-        return imageData != null && imageData.length > 0;
+    /** Points the question at a stored image (null hash = no image). */
+    public void setImage(String hash, String contentType, Long size) {
+        this.imageHash = hash;
+        this.imageContentType = contentType;
+        this.imageSize = size;
+        this.hasImage = (hash != null);
     }
 }
@@ -0,0 +1,25 @@
+package com.Huseyin.boardGame.model;
+
+import jakarta.persistence.*;
+
+/**
+ * The old {@code questions.image_data} LONGBLOB, mapped on its own so that loading a
+ * {@link Question} never reads it. Only used to move pre-ImageStore images to disk.
+ */
+@Entity
+@Table(name = "questions")
+public class QuestionLegacyImage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // same id mapping as Question; never inserted
+    private Long id;
+
+    @Lob
+    @Column(name = "image_data", columnDefinition = "LONGBLOB", insertable = false, updatable = false)
+    private byte[] imageData;
+
+    protected QuestionLegacyImage() {}
+
+    public Long getId() { return id; }
+    public byte[] getImageData() { return imageData; }
+}
@@ -0,0 +1,15 @@
+package com.Huseyin.boardGame.repository;
+
+import com.Huseyin.boardGame.model.BlockedTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface BlockedTermRepository extends JpaRepository<BlockedTerm, Long> {
+
+    boolean existsByTerm(String term);
+
+    @Query("select t.term from BlockedTerm t")
+    List<String> findAllTerms();
+}
@@ -2,9 +2,12 @@ package com.Huseyin.boardGame.repository;
 
 import com.Huseyin.boardGame.model.ChatMessage;
 import org.springframework.data.domain.Pageable;
+import com.Huseyin.boardGame.model.Game;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -31,4 +34,41 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     List<ChatMessage> findAfterWithUser(@Param("gameId") Long gameId,
                                         @Param("afterId") Long afterId,
                                         Pageable pageable);
+
+    // Scroll-back: messages before a given id, newest -> oldest (keyset on idx_chat_game_id_id)
+    @Query("""
+        select m
+        from ChatMessage m
+        join fetch m.user u
+        where m.game.id = :gameId and m.id < :beforeId
+        order by m.id desc
+    """)
+    List<ChatMessage> findBeforeWithUser(@Param("gameId") Long gameId,
+                                         @Param("beforeId") Long beforeId,
+                                         Pageable pageable);
+
+    // Archiving: a game's whole chat, oldest -> newest
+    @Query("""
+        select m
+        from ChatMessage m
+        join fetch m.user u
+        where m.game.id = :gameId
+        order by m.id asc
+    """)
+    List<ChatMessage> findAllWithUser(@Param("gameId") Long gameId);
+
+    // ✅ games finished before the cutoff that still have chat rows
+    @Query("""
+        select distinct m.game.id
+        from ChatMessage m
+        where m.game.status = :status and m.game.finishedAt < :before
+    """)
+    List<Long> findGameIdsFinishedBefore(@Param("status") Game.Status status,
+                                         @Param("before") Long before,
+                                         Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ChatMessage m where m.game.id = :gameId")
+    int deleteByGameId(@Param("gameId") Long gameId);
 }
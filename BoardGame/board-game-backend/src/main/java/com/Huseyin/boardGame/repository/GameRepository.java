@@ -1,6 +1,7 @@
 package com.Huseyin.boardGame.repository;
 
 import com.Huseyin.boardGame.model.Game;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -12,9 +13,68 @@ import java.util.List;
 public interface GameRepository extends JpaRepository<Game, Long> {
     List<Game> findByStatus(Game.Status status);
 
+    // ✅ a room's question ids (the questions themselves come from QuestionCatalog)
+    @Query("select q.id from Game g join g.questions q where g.id = :gameId")
+    List<Long> findQuestionIds(@Param("gameId") Long gameId);
+
+    // ✅ admin room list row (no entity, no lazy collections)
+    interface RoomRow {
+        Long getId();
+        String getName();
+        Game.Status getStatus();
+        Integer getCurrentTurn();
+        Integer getCurrentTurnSlot();
+        Integer getTimeLimitSeconds();
+        long getPlayerCount();
+        long getQuestionCount();
+    }
+
+    // ✅ keyset page (id > after) with counts from correlated subqueries, one statement per page
+    @Query("""
+        select g.id as id,
+               g.name as name,
+               g.status as status,
+               g.currentTurn as currentTurn,
+               g.currentTurnSlot as currentTurnSlot,
+               g.timeLimitSeconds as timeLimitSeconds,
+               (select count(p) from PlayerGameStatus p where p.game.id = g.id) as playerCount,
+               size(g.questions) as questionCount
+        from Game g
+        where g.id > :after
+          and (:status is null or g.status = :status)
+        order by g.id asc
+    """)
+    List<RoomRow> findRoomPage(@Param("after") Long after,
+                               @Param("status") Game.Status status,
+                               Pageable pageable);
+
     // ✅ Delete join-table rows first
     @Modifying
     @Transactional
     @Query(value = "DELETE FROM game_questions WHERE game_id = :gameId", nativeQuery = true)
     void deleteGameQuestions(@Param("gameId") Long gameId);
+
+    // ✅ write-back of live session state (GameSessionWriter)
+    @Modifying
+    @Transactional
+    @Query("""
+        update Game g
+        set g.status = :status,
+            g.currentTurn = :slot,
+            g.currentTurnSlot = :slot,
+            g.currentQuestionId = :questionId,
+            g.turnEndsAt = :turnEndsAt,
+            g.winnerUserId = :winnerUserId,
+            g.winnerUsername = :winnerUsername,
+            g.finishedAt = :finishedAt
+        where g.id = :gameId
+    """)
+    int updateLiveState(@Param("gameId") Long gameId,
+                        @Param("status") Game.Status status,
+                        @Param("slot") Integer slot,
+                        @Param("questionId") Long questionId,
+                        @Param("turnEndsAt") Long turnEndsAt,
+                        @Param("winnerUserId") Long winnerUserId,
+                        @Param("winnerUsername") String winnerUsername,
+                        @Param("finishedAt") Long finishedAt);
 }
@@ -0,0 +1,14 @@
+package com.Huseyin.boardGame.repository;
+
+import com.Huseyin.boardGame.model.ImageVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Long> {
+
+    Optional<ImageVariant> findBySourceHashAndVariant(String sourceHash, String variant);
+
+    List<ImageVariant> findBySourceHash(String sourceHash);
+}
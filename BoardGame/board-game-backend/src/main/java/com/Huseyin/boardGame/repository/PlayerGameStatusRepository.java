@@ -22,6 +22,10 @@ public interface PlayerGameStatusRepository extends JpaRepository<PlayerGameStat
 
     Optional<PlayerGameStatus> findByGame_IdAndPlayer_Id(Long gameId, Long playerId);
 
+    // ✅ roster in join order, players fetched in the same query (no lazy load per seat)
+    @Query("select p from PlayerGameStatus p join fetch p.player where p.game.id = :gameId order by p.id asc")
+    List<PlayerGameStatus> findRosterByGameId(@Param("gameId") Long gameId);
+
     // ✅ cleanup (JPQL deletes are very reliable + fast)
     @Modifying
     @Transactional
@@ -32,4 +36,26 @@ public interface PlayerGameStatusRepository extends JpaRepository<PlayerGameStat
     @Transactional
     @Query("delete from PlayerGameStatus p where p.player.id = :playerId")
     void deleteByPlayerId(@Param("playerId") Long playerId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from PlayerGameStatus p where p.game.id = :gameId and p.player.id = :playerId")
+    int deleteByGameIdAndPlayerId(@Param("gameId") Long gameId, @Param("playerId") Long playerId);
+
+    // ✅ write-back of live seat state (GameSessionWriter)
+    @Modifying
+    @Transactional
+    @Query("""
+        update PlayerGameStatus p
+        set p.position = :position,
+            p.blocked = :blocked,
+            p.hasShield = :hasShield,
+            p.questionMultiplier = :multiplier
+        where p.id = :id
+    """)
+    int updateLiveState(@Param("id") Long id,
+                        @Param("position") int position,
+                        @Param("blocked") boolean blocked,
+                        @Param("hasShield") boolean hasShield,
+                        @Param("multiplier") int multiplier);
 }
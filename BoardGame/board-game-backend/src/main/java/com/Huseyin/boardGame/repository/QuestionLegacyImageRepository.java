@@ -0,0 +1,17 @@
+package com.Huseyin.boardGame.repository;
+
+import com.Huseyin.boardGame.model.QuestionLegacyImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface QuestionLegacyImageRepository extends JpaRepository<QuestionLegacyImage, Long> {
+
+    // ✅ drop the blob once it lives in the ImageStore
+    @Modifying
+    @Transactional
+    @Query("update QuestionLegacyImage i set i.imageData = null where i.id = :id")
+    int clear(@Param("id") Long id);
+}
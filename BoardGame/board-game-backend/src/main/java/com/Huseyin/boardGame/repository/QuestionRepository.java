@@ -2,6 +2,30 @@ package com.Huseyin.boardGame.repository;
 
 import com.Huseyin.boardGame.model.Question; // ✅ this was missing
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
+
+    // ✅ admin list: text + image metadata, no image bytes
+    interface Summary {
+        Long getId();
+        String getContent();
+        String getCorrectAnswer();
+        int getLevel();
+        String getAcceptedAnswers();
+        int getAnswerTolerance();
+        boolean getHasImage();
+        String getImageHash();
+        Long getImageSize();
+    }
+
+    @Query("""
+           select q.id as id, q.content as content, q.correctAnswer as correctAnswer, q.level as level,
+                  q.acceptedAnswers as acceptedAnswers, q.answerTolerance as answerTolerance,
+                  q.hasImage as hasImage, q.imageHash as imageHash, q.imageSize as imageSize
+           from Question q order by q.id
+           """)
+    List<Summary> findAllSummaries();
 }
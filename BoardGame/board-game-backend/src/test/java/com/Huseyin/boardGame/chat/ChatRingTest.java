@@ -0,0 +1,63 @@
+package com.Huseyin.boardGame.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatRingTest {
+
+	private static Map<String, Object> msg(long id) {
+		return Map.of("id", id, "text", "m" + id);
+	}
+
+	private static List<Long> ids(List<Map<String, Object>> dtos) {
+		List<Long> out = new ArrayList<>();
+		for (Map<String, Object> d : dtos) out.add((Long) d.get("id"));
+		return out;
+	}
+
+	@Test
+	void answersAfterIdInsideTheTailAndMissesOlder() {
+		ChatRing ring = new ChatRing(3);
+		ring.load(List.of(msg(10), msg(20), msg(30)), false);
+		ring.add(msg(40)); // drops 10
+
+		assertEquals(List.of(20L, 30L, 40L), ids(ring.after(null)));
+		assertEquals(List.of(30L, 40L), ids(ring.after(20L)));
+		assertEquals(List.of(40L), ids(ring.after(35L)));
+		assertTrue(ring.after(40L).isEmpty());
+		assertNull(ring.after(15L)); // older than the tail: DB
+	}
+
+	@Test
+	void completeHistoryAndOutOfOrderAppends() {
+		ChatRing ring = new ChatRing(4);
+		ring.load(List.of(msg(5)), true);
+		ring.add(msg(9));
+		ring.add(msg(7)); // committed out of order
+		ring.add(msg(9)); // duplicate
+
+		assertEquals(List.of(5L, 7L, 9L), ids(ring.after(1L))); // whole history held
+		ring.add(msg(11));
+		ring.add(msg(12)); // full: 5 dropped, no longer complete
+		assertEquals(List.of(7L, 9L, 11L, 12L), ids(ring.after(null)));
+		assertNull(ring.after(1L));
+	}
+
+	@Test
+	void scrollBackOnlyWhenTheRingHoldsEnough() {
+		ChatRing ring = new ChatRing(4);
+		ring.load(List.of(msg(1), msg(2), msg(3), msg(4)), false);
+
+		assertEquals(List.of(2L, 3L), ids(ring.before(4L, 2)));
+		assertNull(ring.before(3L, 5)); // older ones may be in the DB
+
+		ChatRing all = new ChatRing(4);
+		all.load(List.of(msg(1), msg(2)), true);
+		assertEquals(List.of(1L), ids(all.before(2L, 5)));
+	}
+}
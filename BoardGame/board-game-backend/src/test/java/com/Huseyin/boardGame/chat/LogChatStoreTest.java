@@ -0,0 +1,63 @@
+package com.Huseyin.boardGame.chat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogChatStoreTest {
+
+	@TempDir
+	Path dir;
+
+	private LogChatStore open() throws Exception {
+		LogChatStore store = new LogChatStore(dir.toString(), "never", 1000);
+		store.open();
+		return store;
+	}
+
+	private static List<Object> texts(List<Map<String, Object>> dtos) {
+		List<Object> out = new ArrayList<>();
+		for (Map<String, Object> d : dtos) out.add(d.get("text"));
+		return out;
+	}
+
+	@Test
+	void readsByGameAndKeyset() throws Exception {
+		LogChatStore store = open();
+		for (int i = 0; i < 5; i++) {
+			store.append(1L, 7L, "ayşe", "m" + i);
+			store.append(2L, 8L, "bob", "other" + i);
+		}
+
+		assertEquals(List.of("m3", "m4"), texts(store.latest(1L, 2)));
+		long firstId = (Long) store.latest(1L, 5).get(0).get("id");
+		long thirdId = (Long) store.latest(1L, 5).get(2).get("id");
+		assertEquals(List.of("m1", "m2"), texts(store.after(1L, firstId, 2)));
+		assertEquals(List.of("m0", "m1"), texts(store.before(1L, thirdId, 10)));
+		assertEquals("ayşe", store.latest(1L, 1).get(0).get("username"));
+		store.close();
+	}
+
+	@Test
+	void reopenRebuildsIndexAndKeepsDeletes() throws Exception {
+		LogChatStore store = open();
+		Map<String, Object> last = null;
+		for (int i = 0; i < 3; i++) last = store.append(1L, 7L, "a", "keep" + i);
+		store.append(2L, 7L, "a", "gone");
+		store.deleteGame(2L);
+		store.close();
+
+		LogChatStore reopened = open();
+		assertEquals(List.of("keep0", "keep1", "keep2"), texts(reopened.latest(1L, 10)));
+		assertTrue(reopened.latest(2L, 10).isEmpty());
+		long next = (Long) reopened.append(1L, 7L, "a", "new").get("id");
+		assertTrue(next > (Long) last.get("id"));
+		reopened.close();
+	}
+}
@@ -0,0 +1,31 @@
+package com.Huseyin.boardGame.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TermMatcherTest {
+
+	@Test
+	void masksTermsAcrossCaseAndTurkishLetters() {
+		TermMatcher m = TermMatcher.of(List.of("aptal", "salak", "ass", "şapşal"));
+
+		assertEquals("sen ***** mısın", m.mask("sen APTAL mısın"));
+		assertEquals("*****lar", m.mask("salaklar"));        // suffixed form
+		assertEquals("******!", m.mask("SAPSAL!"));          // folded ş -> s
+		assertEquals("you ***", m.mask("you ass"));
+		assertEquals("class pass", m.mask("class pass"));    // inside other words
+	}
+
+	@Test
+	void overlappingTermsAndCleanTextUntouched() {
+		TermMatcher m = TermMatcher.of(List.of("he", "she", "hers"));
+
+		assertEquals("*** ****", m.mask("she hers"));
+		String clean = "merhaba dünya";
+		assertSame(clean, TermMatcher.of(List.of("xyz")).mask(clean));
+		assertSame(clean, TermMatcher.EMPTY.mask(clean));
+	}
+}
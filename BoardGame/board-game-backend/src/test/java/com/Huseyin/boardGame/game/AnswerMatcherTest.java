@@ -0,0 +1,48 @@
+package com.Huseyin.boardGame.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerMatcherTest {
+
+	@Test
+	void normalizesCaseAccentsAndWhitespace() {
+		assertEquals("istanbul", AnswerMatcher.normalize("  İSTANBUL "));
+		assertEquals("istanbul", AnswerMatcher.normalize("ıstanbul"));
+		assertEquals("mustafa kemal ataturk", AnswerMatcher.normalize("Mustafa\t Kemal\n\nATATÜRK"));
+		assertEquals("cagri", AnswerMatcher.normalize("Çağrı"));
+		assertEquals("cafe", AnswerMatcher.normalize("café")); // combining accent
+		assertEquals("한국", AnswerMatcher.normalize("한국"));       // syllables are not split
+		assertEquals("", AnswerMatcher.normalize(null));
+
+		AnswerMatcher m = AnswerMatcher.compile(" İzmir ", null, 0);
+		assertTrue(m.matches("IZMIR"));
+		assertTrue(m.matches("izmır"));
+		assertFalse(m.matches("izmit"));
+		assertFalse(m.matches("   "));
+	}
+
+	@Test
+	void acceptsAlternativesAndBoundedTypos() {
+		AnswerMatcher m = AnswerMatcher.compile("Atatürk", "Mustafa Kemal\r\n\n  Ata ", 1);
+		assertEquals(3, m.accepted().size());
+		assertTrue(m.matches("mustafa  kemal"));
+		assertTrue(m.matches("ATA"));
+		assertTrue(m.matches("ataturk"));
+		assertTrue(m.matches("atatrk"));   // deletion
+		assertTrue(m.matches("aattürk"));  // swapped neighbours
+		assertFalse(m.matches("atatrrkk"));
+		assertFalse(m.matches("atu"));     // "ata" is too short for typos
+
+		AnswerMatcher numbers = AnswerMatcher.compile("4", "four", 2);
+		assertFalse(numbers.matches("5"));
+		assertTrue(numbers.matches("fuor"));
+		assertEquals(AnswerMatcher.MAX_TOLERANCE, AnswerMatcher.compile("x", null, 9).tolerance());
+		assertFalse(AnswerMatcher.NONE.matches("anything"));
+
+		assertTrue(AnswerMatcher.withinEdits("kitten", "sitten", 1));
+		assertFalse(AnswerMatcher.withinEdits("kitten", "sitting", 2));
+		assertTrue(AnswerMatcher.withinEdits("kitten", "sitting", 3));
+	}
+}
@@ -0,0 +1,53 @@
+package com.Huseyin.boardGame.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionRingTest {
+
+	@Test
+	void nextWrapsAroundInIdOrder() {
+		QuestionRing ring = QuestionRing.of(Set.of(42L, 7L, 1000L, 13L));
+
+		assertEquals(4, ring.size());
+		assertEquals(7L, ring.first());
+		assertEquals(13L, ring.next(7L));
+		assertEquals(42L, ring.next(13L));
+		assertEquals(1000L, ring.next(42L));
+		assertEquals(7L, ring.next(1000L));
+
+		// unknown / none start over
+		assertEquals(7L, ring.next(QuestionRing.NONE));
+		assertEquals(7L, ring.next(99L));
+		assertEquals(Long.valueOf(7L), ring.nextId(null));
+		assertSame(ring.nextId(7L), ring.nextId(7L));
+	}
+
+	@Test
+	void emptyRingHasNoQuestion() {
+		QuestionRing ring = QuestionRing.of(List.of());
+
+		assertTrue(ring.isEmpty());
+		assertEquals(QuestionRing.NONE, ring.next(5L));
+		assertNull(ring.firstId());
+		assertNull(ring.nextId(5L));
+	}
+
+	@Test
+	void indexCoversLargeBanks() {
+		List<Long> ids = new java.util.ArrayList<>();
+		for (long id = 1; id <= 5000; id++) ids.add(id * 3);
+		QuestionRing ring = QuestionRing.of(ids);
+
+		for (int i = 0; i < ids.size(); i++) {
+			assertEquals(i, ring.indexOf(ids.get(i)));
+		}
+		assertEquals(-1, ring.indexOf(4L));
+		assertTrue(ring.sameIdsAs(ids));
+		assertFalse(ring.sameIdsAs(ids.subList(1, ids.size())));
+	}
+}
@@ -0,0 +1,48 @@
+package com.Huseyin.boardGame.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatReservationTest {
+
+	@Test
+	void burstOfJoinsNeverOverfillsARoom() throws Exception {
+		GameSession session = new GameSession(1L);
+		AtomicInteger granted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+
+		try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+			for (int i = 0; i < 30; i++) {
+				pool.submit(() -> {
+					start.await();
+					if (session.tryReserveSeat(GameSession.MAX_SEATS)) granted.incrementAndGet();
+					return null;
+				});
+			}
+			start.countDown();
+		}
+
+		assertEquals(GameSession.MAX_SEATS, granted.get());
+		assertFalse(session.tryReserveSeat(GameSession.MAX_SEATS));
+	}
+
+	@Test
+	void releasedAndConfirmedSeatsAreAccounted() {
+		GameSession session = new GameSession(1L);
+
+		assertTrue(session.tryReserveSeat(2));
+		assertTrue(session.tryReserveSeat(2));
+		assertFalse(session.tryReserveSeat(2));
+
+		session.confirmSeat();  // one seat taken
+		session.releaseSeat();  // the other reservation wasn't used
+		assertTrue(session.tryReserveSeat(2));
+		assertFalse(session.tryReserveSeat(2));
+	}
+}
@@ -0,0 +1,64 @@
+package com.Huseyin.boardGame.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnTimerWheelTest {
+
+	private static final long TICK_MS = 10;
+
+	private final Map<Long, Long> firedAt = new ConcurrentHashMap<>();
+	private CountDownLatch latch;
+	private TurnTimerWheel wheel;
+
+	private void startWheel(int expected, int wheelSize) {
+		latch = new CountDownLatch(expected);
+		wheel = new TurnTimerWheel(TICK_MS, wheelSize, Runnable::run, gameId -> {
+			firedAt.put(gameId, System.currentTimeMillis());
+			latch.countDown();
+		});
+		wheel.start();
+	}
+
+	@AfterEach
+	void stop() {
+		wheel.stop();
+	}
+
+	@Test
+	void firesNeverEarlyAndAtMostAboutOneTickLate() throws Exception {
+		startWheel(3, 8);
+		long now = System.currentTimeMillis();
+		wheel.schedule(1L, now + 30);
+		wheel.schedule(2L, now + 120); // more than one rotation (8 x 10 ms)
+		wheel.schedule(3L, now - 5);   // already due
+
+		assertTrue(latch.await(2, TimeUnit.SECONDS));
+		assertTrue(firedAt.get(1L) >= now + 30);
+		assertTrue(firedAt.get(2L) >= now + 120);
+		assertTrue(firedAt.get(2L) < now + 120 + 5 * TICK_MS);
+	}
+
+	@Test
+	void rescheduleReplacesAndCancelRemoves() throws Exception {
+		startWheel(1, 64);
+		long now = System.currentTimeMillis();
+		wheel.schedule(1L, now + 20);
+		wheel.schedule(1L, now + 60);   // re-armed: only the later deadline fires
+		wheel.schedule(2L, now + 20);
+		wheel.cancel(2L);
+
+		assertTrue(latch.await(2, TimeUnit.SECONDS));
+		Thread.sleep(50);
+		assertTrue(firedAt.get(1L) >= now + 60);
+		assertFalse(firedAt.containsKey(2L));
+		assertEquals(0, wheel.size());
+	}
+}
@@ -0,0 +1,58 @@
+package com.Huseyin.boardGame.image;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantsTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void readsExifOrientationBehindOtherSegments() throws Exception {
+		byte[] xmp = segment(0xE1, "http://ns.adobe.com/xap/1.0/\0<x/>".getBytes());
+		byte[] exifBigEndian = segment(0xE1, new byte[]{'E', 'x', 'i', 'f', 0, 0,
+				'M', 'M', 0, 42, 0, 0, 0, 8,
+				0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 6, 0, 0,
+				0, 0, 0, 0});
+		byte[] exifLittleEndian = segment(0xE1, new byte[]{'E', 'x', 'i', 'f', 0, 0,
+				'I', 'I', 42, 0, 8, 0, 0, 0,
+				1, 0, 0x12, 0x01, 3, 0, 1, 0, 0, 0, 8, 0, 0, 0,
+				0, 0, 0, 0});
+
+		assertEquals(6, ImageVariants.exifOrientation(jpeg(xmp, exifBigEndian)));
+		assertEquals(8, ImageVariants.exifOrientation(jpeg(exifLittleEndian)));
+		assertEquals(1, ImageVariants.exifOrientation(jpeg(xmp)));
+		assertEquals(1, ImageVariants.exifOrientation(jpeg(segment(0xE1, new byte[]{'E', 'x', 'i', 'f', 0, 0, 'M', 'M', 0, 42, 0, 0, 0, 99}))));
+
+		Path png = dir.resolve("a.png");
+		Files.write(png, new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+		assertEquals(1, ImageVariants.exifOrientation(png));
+	}
+
+	private Path jpeg(byte[]... segments) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(new byte[]{(byte) 0xFF, (byte) 0xD8});
+		for (byte[] s : segments) out.write(s);
+		out.write(new byte[]{(byte) 0xFF, (byte) 0xDA, 0, 2});
+		Path file = Files.createTempFile(dir, "img", ".jpg");
+		Files.write(file, out.toByteArray());
+		return file;
+	}
+
+	private static byte[] segment(int marker, byte[] body) {
+		byte[] s = new byte[body.length + 4];
+		s[0] = (byte) 0xFF;
+		s[1] = (byte) marker;
+		s[2] = (byte) ((body.length + 2) >> 8);
+		s[3] = (byte) (body.length + 2);
+		System.arraycopy(body, 0, s, 4, body.length);
+		return s;
+	}
+}
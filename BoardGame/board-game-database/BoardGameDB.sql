@@ -1,5 +1,9 @@
 -- Recreated BoardGameDB schema
 
+DROP TABLE IF EXISTS image_variants;
+DROP TABLE IF EXISTS chat_blocked_terms;
+DROP TABLE IF EXISTS chat_id_sequence;
+DROP TABLE IF EXISTS chat_message;
 DROP TABLE IF EXISTS player_prizes;
 DROP TABLE IF EXISTS player_game_status;
 DROP TABLE IF EXISTS games;
@@ -21,6 +25,13 @@ CREATE TABLE questions (
   content TEXT COLLATE utf8mb4_unicode_ci NOT NULL,
   correct_answer VARCHAR(255) COLLATE utf8mb4_unicode_ci NOT NULL,
   level INT DEFAULT 1,
+  accepted_answers TEXT COLLATE utf8mb4_unicode_ci DEFAULT NULL,
+  answer_tolerance INT NOT NULL DEFAULT 0,
+  image_data LONGBLOB DEFAULT NULL,
+  image_content_type VARCHAR(100) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
+  image_hash CHAR(64) COLLATE utf8mb4_unicode_ci DEFAULT NULL,
+  has_image BOOLEAN NOT NULL DEFAULT FALSE,
+  image_size BIGINT DEFAULT NULL,
   PRIMARY KEY (id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
@@ -49,6 +60,7 @@ CREATE TABLE player_game_status (
   has_shield TINYINT(1) DEFAULT 0,
   question_multiplier INT DEFAULT 1,
   PRIMARY KEY (id),
+  UNIQUE KEY uk_game_player (game_id, player_id),
   KEY player_id (player_id),
   KEY game_id (game_id),
   CONSTRAINT player_game_status_ibfk_1 FOREIGN KEY (player_id) REFERENCES users (id),
@@ -70,3 +82,46 @@ CREATE TABLE player_prizes (
   CONSTRAINT player_prizes_ibfk_2 FOREIGN KEY (game_id) REFERENCES games (id),
   CONSTRAINT player_prizes_ibfk_3 FOREIGN KEY (prize_id) REFERENCES prizes (id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE chat_message (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  game_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  text VARCHAR(280) COLLATE utf8mb4_unicode_ci NOT NULL,
+  created_at BIGINT NOT NULL,
+  PRIMARY KEY (id),
+  KEY idx_chat_game_id (game_id),
+  KEY idx_chat_game_id_id (game_id, id),
+  CONSTRAINT chat_message_ibfk_1 FOREIGN KEY (game_id) REFERENCES games (id),
+  CONSTRAINT chat_message_ibfk_2 FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- hi/lo blocks for chat_message ids (ChatIdAllocator); next_val = first id of the next block
+CREATE TABLE chat_id_sequence (
+  name VARCHAR(32) COLLATE utf8mb4_unicode_ci NOT NULL,
+  next_val BIGINT NOT NULL,
+  PRIMARY KEY (name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO chat_id_sequence (name, next_val) VALUES ('chat', 1);
+
+-- chat moderation: admin-managed blocked terms (ChatModerator)
+CREATE TABLE chat_blocked_terms (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  term VARCHAR(100) COLLATE utf8mb4_unicode_ci NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY term (term)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- pre-sized renditions of question images (ImageVariants); hashes name files in the image store
+CREATE TABLE image_variants (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  source_hash CHAR(64) COLLATE utf8mb4_unicode_ci NOT NULL,
+  variant VARCHAR(10) COLLATE utf8mb4_unicode_ci NOT NULL,
+  image_hash CHAR(64) COLLATE utf8mb4_unicode_ci NOT NULL,
+  width INT NOT NULL,
+  height INT NOT NULL,
+  size BIGINT NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY source_variant (source_hash, variant)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,9 @@
+-- Existing databases: admin-managed blocked chat terms (ChatModerator).
+-- Starts empty; terms are added through /api/admin/chat/terms.
+
+CREATE TABLE IF NOT EXISTS chat_blocked_terms (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  term VARCHAR(100) COLLATE utf8mb4_unicode_ci NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY term (term)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,12 @@
+-- Existing databases: hi/lo blocks for chat_message ids (ChatIdAllocator).
+-- Seeded above the ids chat_message already has, so new messages never reuse one.
+
+CREATE TABLE IF NOT EXISTS chat_id_sequence (
+  name VARCHAR(32) COLLATE utf8mb4_unicode_ci NOT NULL,
+  next_val BIGINT NOT NULL,
+  PRIMARY KEY (name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO chat_id_sequence (name, next_val)
+SELECT 'chat', COALESCE(MAX(id), 0) + 1 FROM chat_message
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
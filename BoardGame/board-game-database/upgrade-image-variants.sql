@@ -0,0 +1,14 @@
+-- Existing databases: pre-sized renditions of question images (ImageVariants).
+-- Variants of existing images are rendered on their first ?variant= request.
+
+CREATE TABLE IF NOT EXISTS image_variants (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  source_hash CHAR(64) COLLATE utf8mb4_unicode_ci NOT NULL,
+  variant VARCHAR(10) COLLATE utf8mb4_unicode_ci NOT NULL,
+  image_hash CHAR(64) COLLATE utf8mb4_unicode_ci NOT NULL,
+  width INT NOT NULL,
+  height INT NOT NULL,
+  size BIGINT NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY source_variant (source_hash, variant)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,11 @@
+-- Existing databases: one seat per player and game (PlayerGameStatus uk_game_player).
+-- Duplicate seats are removed first, keeping the earliest one.
+
+DELETE dup FROM player_game_status dup
+  JOIN player_game_status keep
+    ON keep.game_id = dup.game_id
+   AND keep.player_id = dup.player_id
+   AND keep.id < dup.id;
+
+ALTER TABLE player_game_status
+  ADD UNIQUE KEY uk_game_player (game_id, player_id);
@@ -0,0 +1,5 @@
+-- Existing databases: alternative accepted answers and typo tolerance (AnswerMatcher).
+
+ALTER TABLE questions
+  ADD COLUMN accepted_answers TEXT COLLATE utf8mb4_unicode_ci DEFAULT NULL AFTER level,
+  ADD COLUMN answer_tolerance INT NOT NULL DEFAULT 0 AFTER accepted_answers;
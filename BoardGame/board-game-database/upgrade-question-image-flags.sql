@@ -0,0 +1,13 @@
+-- Existing databases: image metadata columns read instead of the image_data blob.
+-- has_image is backfilled for blobs not yet moved to the image store; those are
+-- moved (and image_data cleared) on their first GET /api/questions/{id}/image.
+-- Needs questions.image_hash (upgrade-question-image-hash.sql).
+
+ALTER TABLE questions
+  ADD COLUMN has_image BOOLEAN NOT NULL DEFAULT FALSE,
+  ADD COLUMN image_size BIGINT DEFAULT NULL;
+
+UPDATE questions
+   SET has_image = TRUE
+ WHERE image_hash IS NOT NULL
+    OR image_data IS NOT NULL;
@@ -0,0 +1,6 @@
+-- Existing databases: questions.image_hash names the image file in the image store (ImageStore).
+-- Images still in image_data are moved to the store on their first GET /api/questions/{id}/image.
+-- Run before upgrade-question-image-flags.sql.
+
+ALTER TABLE questions
+  ADD COLUMN image_hash CHAR(64) COLLATE utf8mb4_unicode_ci DEFAULT NULL AFTER image_content_type;
@@ -4,9 +4,12 @@ import { useLocation, useNavigate } from "react-router-dom";
 import Board from "./Board";
 import QuestionCard from "./QuestionCard";
 import QuestionTextCard from "./QuestionTextCard";
+import { connectStomp } from "../stomp";
 
 const API_BASE = "http://localhost:8080";
+const WS_URL = "ws://localhost:8080/ws";
 const POLL_MS = 1200; // base poll interval
+const WS_RETRY_MS = 3000; // reconnect delay for the push channel
 
 // helper: max 8 chars (safe)
 const formatName8 = (name, fallback = "Player") => {
@@ -139,12 +142,14 @@ export default function BoardGame() {
   const pollTimerRef = useRef(null);
   const pollMsRef = useRef(POLL_MS);
 
-  // prevents multiple /timeout fires for same turnEndsAt
-  const lastTimeoutTurnEndsAtRef = useRef(null);
+  // push channel (STOMP): while live, state comes from /topic/games/{id}
+  const socketRef = useRef(null);
+  const socketLiveRef = useRef(false);
+  const socketRetryRef = useRef(null);
+  const stateVersionRef = useRef(null); // last applied stateVersion (sync skips unchanged state)
 
   // request in-flight guards (Phase 2 Step 4)
   const answerInFlightRef = useRef(false);
-  const timeoutInFlightRef = useRef(false);
   const chatSendInFlightRef = useRef(false);
 
   const buildUrl = (path) => `${API_BASE}${path}`;
@@ -194,15 +199,19 @@ export default function BoardGame() {
     return res.json();
   };
 
-  // backend: GET /api/games/{gameId}/chat?afterId=...
-  const fetchChat = async (signal) => {
-    const afterId = lastChatIdRef.current;
-    const qs = afterId ? `?afterId=${afterId}` : "";
-    const res = await fetch(buildUrl(`/api/games/${roomId}/chat${qs}`), { signal });
+  // backend: GET /api/games/{gameId}/sync?stateVersion=..&chatAfterId=...
+  // -> { stateVersion, state (null if unchanged), chat: [...] }
+  const fetchSync = async (signal) => {
+    const params = new URLSearchParams();
+    // server omits the state while it is still at this version (push or an earlier sync applied it)
+    if (stateVersionRef.current != null) params.set("stateVersion", stateVersionRef.current);
+    if (lastChatIdRef.current) params.set("chatAfterId", lastChatIdRef.current);
+    const qs = params.toString() ? `?${params}` : "";
+    const res = await fetch(buildUrl(`/api/games/${roomId}/sync${qs}`), { signal });
 
     if (!res.ok) {
       const body = await safeJson(res);
-      const err = new Error(`Chat fetch failed (${res.status}): ${String(body)}`);
+      const err = new Error(`Sync failed (${res.status}): ${String(body)}`);
       err.status = res.status;
       err.body = body;
       throw err;
@@ -210,6 +219,22 @@ export default function BoardGame() {
     return res.json();
   };
 
+  // shared by polling and push frames
+  const applyState = (st) => {
+    if (!st) return;
+    if (st.stateVersion != null) stateVersionRef.current = st.stateVersion;
+    setGameState(st);
+    setLoading(false);
+
+    // ✅ FINISHED handling (Phase 2 Step 4)
+    if (st?.status && String(st.status).toUpperCase() === "FINISHED") {
+      showUiError("This game is finished. You can go back to Rooms.", 5000);
+
+      // ✅ OPTIONAL: stop polling after finished (clean)
+      stopPolling();
+    }
+  };
+
   const tick = async () => {
     if (!roomId) return;
     if (!myUserId) return;
@@ -225,23 +250,11 @@ export default function BoardGame() {
     abortRef.current = controller;
 
     try {
-      const [stateData, chatData] = await Promise.all([
-        fetchState(controller.signal),
-        fetchChat(controller.signal),
-      ]);
-
-      // state (some controllers wrap in {state})
-      const st = stateData?.state ? stateData.state : stateData;
-      setGameState(st);
-      setLoading(false);
-
-      // ✅ FINISHED handling (Phase 2 Step 4)
-      if (st?.status && String(st.status).toUpperCase() === "FINISHED") {
-        showUiError("This game is finished. You can go back to Rooms.", 5000);
-
-        // ✅ OPTIONAL: stop polling after finished (clean)
-        stopPolling();
-      }
+      // one round trip: state only if it changed since stateVersionRef, plus new chat
+      const sync = await fetchSync(controller.signal);
+      const chatData = sync?.chat;
+
+      applyState(sync?.state);
 
       // chat (incremental)
       if (Array.isArray(chatData) && chatData.length > 0) {
@@ -319,6 +332,7 @@ export default function BoardGame() {
     setChatMsgs([]);
     setChatErr("");
     lastChatIdRef.current = null;
+    stateVersionRef.current = null;
     consecutiveErrorsRef.current = 0;
 
     stopPolling();
@@ -338,6 +352,44 @@ export default function BoardGame() {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [roomId, myUserId]);
 
+  // =========================
+  // ✅ PUSH CHANNEL (STOMP /ws -> /topic/games/{id})
+  // =========================
+  useEffect(() => {
+    if (!roomId || !myUserId) return;
+
+    let cancelled = false;
+
+    const open = () => {
+      if (cancelled) return;
+
+      const client = connectStomp(WS_URL, {
+        onConnect: () => {
+          client.subscribe(`/topic/games/${roomId}`, applyState);
+          socketLiveRef.current = true;
+          // resync once: a change may have landed between the last poll and SUBSCRIBE
+          fetchState().then(applyState).catch(() => {});
+        },
+        onClose: () => {
+          socketLiveRef.current = false;
+          if (!cancelled) socketRetryRef.current = setTimeout(open, WS_RETRY_MS);
+        },
+      });
+      socketRef.current = client;
+    };
+
+    open();
+
+    return () => {
+      cancelled = true;
+      socketLiveRef.current = false;
+      if (socketRetryRef.current) clearTimeout(socketRetryRef.current);
+      socketRef.current?.close();
+      socketRef.current = null;
+    };
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [roomId, myUserId]);
+
   // =========================
   // ✅ LEAVE ROOM (Phase 2 Step 3)
   // =========================
@@ -357,33 +409,6 @@ export default function BoardGame() {
     }
   };
 
-  // =========================
-  // ✅ TIMEOUT (auto when timer hits 0 on your turn)
-  // =========================
-  const postTimeout = async () => {
-    if (!roomId || !myUserId) return;
-    if (timeoutInFlightRef.current) return;
-
-    timeoutInFlightRef.current = true;
-    try {
-      const res = await fetch(buildUrl(`/api/games/${roomId}/timeout`), {
-        method: "POST",
-        headers: { "Content-Type": "application/json" },
-        body: JSON.stringify({ userId: Number(myUserId) }),
-      });
-
-      if (!res.ok) {
-        const body = await safeJson(res);
-        showUiError(`${msgFromStatus(res.status)} ${String(body ?? "")}`.trim());
-      }
-      // polling will refresh state
-    } catch {
-      showUiError("Network error while timing out.");
-    } finally {
-      timeoutInFlightRef.current = false;
-    }
-  };
-
   // =========================
   // Derived values
   // =========================
@@ -431,20 +456,6 @@ export default function BoardGame() {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [loading, roomId, myUserId, players.length, isFinished]);
 
-  // auto-timeout once (per turnEndsAt) when timer hits 0 on my turn
-  useEffect(() => {
-    if (!turnEndsAt) return;
-    if (!isMyTurn) return;
-
-    if (timeLeftSeconds <= 0) {
-      if (lastTimeoutTurnEndsAtRef.current !== turnEndsAt) {
-        lastTimeoutTurnEndsAtRef.current = turnEndsAt;
-        postTimeout();
-      }
-    }
-    // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, [timeLeftSeconds, isMyTurn, turnEndsAt]);
-
   // map players into board tokens
   const boardPlayers = useMemo(() => {
     const tokenColors = ["green", "blue", "orange", "red"];
@@ -650,6 +661,7 @@ export default function BoardGame() {
                 questionText={question?.content || ""}
                 questionId={question?.id || null}
                 hasImage={!!question?.hasImage}
+                imageHash={question?.imageHash || null}
               />
 
               <QuestionCard
@@ -3,7 +3,9 @@ import React from "react";
 
 const API_BASE = "http://localhost:8080";
 
-function QuestionTextCard({ questionText, questionId, hasImage }) {
+// imageHash: content-addressed URL (cached forever); else the per-question URL.
+// The board only needs the pre-sized "card" variant, not the uploaded original.
+function QuestionTextCard({ questionText, questionId, hasImage, imageHash }) {
   return (
     <div style={styles.card}>
       <h3>Question</h3>
@@ -11,7 +13,11 @@ function QuestionTextCard({ questionText, questionId, hasImage }) {
 
       {hasImage && questionId && (
         <img
-          src={`${API_BASE}/api/questions/${questionId}/image`}
+          src={
+            imageHash
+              ? `${API_BASE}/api/images/${imageHash}?variant=card`
+              : `${API_BASE}/api/questions/${questionId}/image?variant=card`
+          }
           alt="Question"
           style={styles.image}
         />
@@ -0,0 +1,48 @@
+// src/lobby.js
+// Live lobby: the backend pushes room changes on /topic/lobby
+//   { op: "open", id, name, playerCount, timeLimitSeconds }  room is joinable (new or changed)
+//   { op: "closed", id }                                      room is full / finished / deleted
+import { connectStomp } from "./stomp";
+
+const WS_URL = "ws://localhost:8080/ws";
+const RETRY_MS = 3000;
+
+export const applyLobbyChange = (rooms, msg) => {
+  if (!msg?.id) return rooms;
+  const rest = rooms.filter((r) => r.id !== msg.id);
+  if (msg.op !== "open") return rest;
+
+  const { op, ...room } = msg;
+  return [...rest, room].sort((a, b) => a.id - b.id);
+};
+
+// Calls onChange(msg) for each lobby change and onReconnect() after a (re)connect,
+// so the page can reload /api/games/open once. Returns a close function.
+export function subscribeLobby(onChange, onReconnect) {
+  let client = null;
+  let retry = null;
+  let closed = false;
+  let first = true;
+
+  const open = () => {
+    if (closed) return;
+    client = connectStomp(WS_URL, {
+      onConnect: () => {
+        client.subscribe("/topic/lobby", onChange);
+        if (!first) onReconnect?.();
+        first = false;
+      },
+      onClose: () => {
+        if (!closed) retry = setTimeout(open, RETRY_MS);
+      },
+    });
+  };
+
+  open();
+
+  return () => {
+    closed = true;
+    if (retry) clearTimeout(retry);
+    client?.close();
+  };
+}
@@ -8,6 +8,8 @@ function AdminPanel() {
   const [content, setContent] = useState('');
   const [correctAnswer, setCorrectAnswer] = useState('');
   const [level, setLevel] = useState(1);
+  const [acceptedAnswers, setAcceptedAnswers] = useState(''); // one per line
+  const [answerTolerance, setAnswerTolerance] = useState(0);
   const [editingId, setEditingId] = useState(null);
 
   // NEW: track selected file per questionId
@@ -30,6 +32,8 @@ function AdminPanel() {
     setContent('');
     setCorrectAnswer('');
     setLevel(1);
+    setAcceptedAnswers('');
+    setAnswerTolerance(0);
     setEditingId(null);
   };
 
@@ -46,6 +50,8 @@ function AdminPanel() {
       content,
       correctAnswer,
       level: Number(level) || 1,
+      acceptedAnswers,
+      answerTolerance: Number(answerTolerance) || 0,
     };
 
     const url = editingId
@@ -82,6 +88,8 @@ function AdminPanel() {
     setContent(q.content || '');
     setCorrectAnswer(q.correctAnswer || '');
     setLevel(q.level ?? 1);
+    setAcceptedAnswers(q.acceptedAnswers || '');
+    setAnswerTolerance(q.answerTolerance ?? 0);
   };
 
   // === DELETE QUESTION ===
@@ -169,9 +177,11 @@ function AdminPanel() {
     }
   };
 
-  // cache-buster for image preview refresh
-  const imageSrc = (questionId) =>
-    `${API_BASE}/api/questions/${questionId}/image?ts=${Date.now()}`;
+  // content-addressed URL changes with the image, so no cache-buster is needed
+  const imageSrc = (q) =>
+    q.imageHash
+      ? `${API_BASE}/api/images/${q.imageHash}?variant=card`
+      : `${API_BASE}/api/questions/${q.id}/image?variant=card`;
 
   return (
     <div style={styles.container}>
@@ -201,6 +211,21 @@ function AdminPanel() {
             value={level}
             onChange={(e) => setLevel(e.target.value)}
           />
+          <textarea
+            style={styles.textarea}
+            placeholder="Other accepted answers (one per line, optional)"
+            value={acceptedAnswers}
+            onChange={(e) => setAcceptedAnswers(e.target.value)}
+          />
+          <input
+            style={styles.input}
+            type="number"
+            min="0"
+            max="2"
+            placeholder="Typos allowed (0-2)"
+            value={answerTolerance}
+            onChange={(e) => setAnswerTolerance(e.target.value)}
+          />
 
           <div style={styles.formButtons}>
             <button style={styles.saveButton} type="submit">
@@ -229,24 +254,30 @@ function AdminPanel() {
                   <p>{q.content}</p>
                   <p style={styles.answer}>
                     Correct answer: <strong>{q.correctAnswer}</strong>
+                    {q.acceptedAnswers && q.acceptedAnswers.trim() && (
+                      <> (also: {q.acceptedAnswers.split('\n').filter((a) => a.trim()).join(', ')})</>
+                    )}
+                    {q.answerTolerance > 0 && <> · {q.answerTolerance} typo(s) allowed</>}
                   </p>
 
                   {/* ✅ NEW: image preview + upload */}
                   <div style={styles.imageBlock}>
                     <div style={{ fontWeight: 600, marginBottom: 6 }}>Question Image</div>
 
-                    {/* Preview: show img; if not found, hide via onError */}
-                    <img
-                      src={imageSrc(q.id)}
-                      alt="Question"
-                      style={styles.previewImg}
-                      onError={(e) => {
-                        e.currentTarget.style.display = 'none';
-                      }}
-                      onLoad={(e) => {
-                        e.currentTarget.style.display = 'block';
-                      }}
-                    />
+                    {/* Preview: only for questions with an image (has_image) */}
+                    {q.hasImage && (
+                      <img
+                        src={imageSrc(q)}
+                        alt="Question"
+                        style={styles.previewImg}
+                        onError={(e) => {
+                          e.currentTarget.style.display = 'none';
+                        }}
+                        onLoad={(e) => {
+                          e.currentTarget.style.display = 'block';
+                        }}
+                      />
+                    )}
 
                     <div style={styles.uploadRow}>
                       <input
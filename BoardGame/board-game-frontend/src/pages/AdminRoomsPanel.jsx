@@ -1,9 +1,12 @@
 import React, { useEffect, useState } from "react";
 
 const API_BASE = "http://localhost:8080";
+const PAGE_SIZE = 50; // rooms per page (GET /api/games is keyset paged)
 
 function AdminRoomsPanel() {
   const [rooms, setRooms] = useState([]);
+  const [nextAfter, setNextAfter] = useState(null); // cursor of the next page, null = no more
+  const [loadingMore, setLoadingMore] = useState(false);
   const [questions, setQuestions] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
@@ -25,7 +28,7 @@ function AdminRoomsPanel() {
       setError("");
 
       const [roomsRes, questionsRes] = await Promise.all([
-        fetch(`${API_BASE}/api/games`),
+        fetch(`${API_BASE}/api/games?limit=${PAGE_SIZE}`),
         fetch(`${API_BASE}/api/questions`),
       ]);
 
@@ -35,7 +38,8 @@ function AdminRoomsPanel() {
       const roomsData = await roomsRes.json();
       const questionsData = await questionsRes.json();
 
-      setRooms(roomsData);
+      setRooms(roomsData.items ?? []);
+      setNextAfter(roomsData.nextAfter ?? null);
       setQuestions(questionsData);
     } catch (err) {
       console.error(err);
@@ -49,6 +53,23 @@ function AdminRoomsPanel() {
     loadData();
   }, []);
 
+  const loadMoreRooms = async () => {
+    if (nextAfter == null || loadingMore) return;
+    try {
+      setLoadingMore(true);
+      const res = await fetch(`${API_BASE}/api/games?after=${nextAfter}&limit=${PAGE_SIZE}`);
+      if (!res.ok) throw new Error("Failed to load rooms");
+      const page = await res.json();
+      setRooms((prev) => [...prev, ...(page.items ?? [])]);
+      setNextAfter(page.nextAfter ?? null);
+    } catch (err) {
+      console.error(err);
+      setError(err.message || "Error while loading rooms.");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   // -------- CREATE ROOM ----------
 
   const handleCreateRoom = async (e) => {
@@ -294,6 +315,17 @@ function AdminRoomsPanel() {
       </tbody>
     </table>
   )}
+
+  {!loading && nextAfter != null && (
+    <button
+      type="button"
+      style={{ ...styles.secondaryButton, marginTop: "12px" }}
+      onClick={loadMoreRooms}
+      disabled={loadingMore}
+    >
+      {loadingMore ? "Loading..." : "⬇ Load more rooms"}
+    </button>
+  )}
 </section>
 
 
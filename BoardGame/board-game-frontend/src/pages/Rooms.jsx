@@ -1,5 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
+import { applyLobbyChange, subscribeLobby } from '../lobby';
 
 const API_BASE = 'http://localhost:8080';
 
@@ -28,6 +29,12 @@ function Rooms() {
       });
   }, []);
 
+  // live lobby updates instead of re-fetching
+  useEffect(() => {
+    if (!user) return;
+    return subscribeLobby((msg) => setRooms((prev) => applyLobbyChange(prev, msg)));
+  }, []);
+
   const handleJoin = (roomId) => {
     if (!user) {
       alert('You must be logged in');
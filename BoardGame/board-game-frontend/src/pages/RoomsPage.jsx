@@ -1,7 +1,10 @@
-import React, { useEffect, useState } from "react";
+import React, { useEffect, useRef, useState } from "react";
 import { useNavigate } from "react-router-dom";
+import { applyLobbyChange, subscribeLobby } from "../lobby";
+import { connectStomp } from "../stomp";
 
 const API_BASE = "http://localhost:8080";
+const WS_URL = "ws://localhost:8080/ws";
 
 function RoomsPage() {
   const navigate = useNavigate();
@@ -9,6 +12,8 @@ function RoomsPage() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
   const [joining, setJoining] = useState(false);
+  const [matching, setMatching] = useState(false);
+  const matchClientRef = useRef(null);
 
   const user = JSON.parse(localStorage.getItem("user") || "null");
   const [currentRoomId, setCurrentRoomId] = useState(() => {
@@ -39,6 +44,14 @@ function RoomsPage() {
     loadRooms();
   }, []);
 
+  // live lobby: apply pushed changes, reload once after a reconnect
+  useEffect(() => {
+    return subscribeLobby(
+      (msg) => setRooms((prev) => applyLobbyChange(prev, msg)),
+      () => loadRooms()
+    );
+  }, []);
+
   const handleJoin = async (roomId) => {
     if (!user) {
       alert("You need to log in first.");
@@ -72,6 +85,65 @@ function RoomsPage() {
     }
   };
 
+  // ✅ quick match: listen on our matchmaking topic first, then enqueue
+  const stopMatching = () => {
+    matchClientRef.current?.close();
+    matchClientRef.current = null;
+    setMatching(false);
+  };
+
+  useEffect(() => () => matchClientRef.current?.close(), []);
+
+  const handleQuickMatch = () => {
+    if (!user) {
+      alert("You need to log in first.");
+      navigate("/");
+      return;
+    }
+    setMatching(true);
+
+    const client = connectStomp(WS_URL, {
+      onConnect: async () => {
+        client.subscribe(`/topic/matchmaking/${user.id}`, (msg) => {
+          if (msg.status === "MATCHED" && msg.gameId) {
+            stopMatching();
+            setCurrentRoomId(msg.gameId);
+            localStorage.setItem("currentRoomId", String(msg.gameId));
+            navigate("/game", { state: { gameId: msg.gameId } });
+          } else if (msg.status === "REJECTED") {
+            stopMatching();
+            alert("Matchmaking failed.");
+          }
+        });
+        try {
+          const res = await fetch(
+            `${API_BASE}/api/matchmaking/enqueue?userId=${user.id}`,
+            { method: "POST" }
+          );
+          if (!res.ok) throw new Error((await res.text()) || "Failed to start matchmaking.");
+        } catch (err) {
+          console.error(err);
+          stopMatching();
+          alert(err.message || "Error while starting matchmaking.");
+        }
+      },
+      onClose: () => {
+        if (matchClientRef.current === client) stopMatching();
+      },
+    });
+    matchClientRef.current = client;
+  };
+
+  const handleCancelMatch = async () => {
+    stopMatching();
+    if (!user) return;
+    try {
+      await fetch(`${API_BASE}/api/matchmaking/cancel?userId=${user.id}`, { method: "POST" });
+    } catch (err) {
+      console.error(err);
+    }
+  };
+
   const handleLeave = async () => {
     if (!user || !currentRoomId) return;
     if (!window.confirm("Leave current room?")) return;
@@ -102,6 +174,23 @@ function RoomsPage() {
 
       {error && <p style={styles.error}>{error}</p>}
 
+      {!currentRoomId && (
+        <div style={styles.currentRoomBox}>
+          {matching ? (
+            <>
+              <span>Looking for players...</span>
+              <button style={styles.secondaryButton} onClick={handleCancelMatch}>
+                Cancel
+              </button>
+            </>
+          ) : (
+            <button style={styles.secondaryButton} onClick={handleQuickMatch}>
+              Quick match
+            </button>
+          )}
+        </div>
+      )}
+
       {currentRoomId && (
         <div style={styles.currentRoomBox}>
           <span>
@@ -0,0 +1,91 @@
+// src/stomp.js
+// Minimal STOMP 1.2 client over a native WebSocket.
+// Only what the board needs: CONNECT, SUBSCRIBE/UNSUBSCRIBE and JSON MESSAGE frames.
+
+const NUL = "\u0000";
+
+const parseFrame = (raw) => {
+  const frame = raw.replace(/^[\r\n]+/, ""); // heart-beat newlines
+  if (!frame) return null;
+
+  const sep = frame.indexOf("\n\n");
+  const head = sep >= 0 ? frame.slice(0, sep) : frame;
+  const body = sep >= 0 ? frame.slice(sep + 2) : "";
+
+  const [command, ...lines] = head.split("\n");
+  const headers = {};
+  for (const line of lines) {
+    const i = line.indexOf(":");
+    if (i > 0) headers[line.slice(0, i)] = line.slice(i + 1);
+  }
+  return { command, headers, body };
+};
+
+export function connectStomp(url, { onConnect, onClose } = {}) {
+  const ws = new WebSocket(url);
+  const handlers = new Map(); // subscription id -> handler
+  let nextId = 1;
+  let connected = false;
+
+  const send = (command, headers = {}, body = "") => {
+    if (ws.readyState !== WebSocket.OPEN) return;
+    const head = Object.entries(headers)
+      .map(([k, v]) => `${k}:${v}`)
+      .join("\n");
+    ws.send(`${command}\n${head}\n\n${body}${NUL}`);
+  };
+
+  ws.onopen = () => {
+    send("CONNECT", { "accept-version": "1.2", "heart-beat": "0,0" });
+  };
+
+  ws.onmessage = (ev) => {
+    for (const raw of String(ev.data).split(NUL)) {
+      const frame = parseFrame(raw);
+      if (!frame) continue;
+
+      if (frame.command === "CONNECTED") {
+        connected = true;
+        onConnect?.();
+      } else if (frame.command === "MESSAGE") {
+        const handler = handlers.get(frame.headers.subscription);
+        if (!handler) continue;
+        try {
+          handler(JSON.parse(frame.body));
+        } catch {
+          // ignore malformed frame
+        }
+      }
+    }
+  };
+
+  ws.onclose = () => {
+    const wasConnected = connected;
+    connected = false;
+    handlers.clear();
+    onClose?.(wasConnected);
+  };
+
+  return {
+    isConnected: () => connected,
+
+    subscribe(destination, handler) {
+      const id = `sub-${nextId++}`;
+      handlers.set(id, handler);
+      send("SUBSCRIBE", { id, destination });
+      return () => {
+        handlers.delete(id);
+        send("UNSUBSCRIBE", { id });
+      };
+    },
+
+    close() {
+      try {
+        send("DISCONNECT");
+      } finally {
+        ws.onclose = null;
+        ws.close();
+      }
+    },
+  };
+}